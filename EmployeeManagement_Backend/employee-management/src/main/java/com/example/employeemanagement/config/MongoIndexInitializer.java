@@ -0,0 +1,92 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the {@code @Document} models once the app is up, plus the
+ * case-insensitive collation indexes that annotations cannot express.
+ * Every index is attempted; if any of them cannot be built (e.g. a unique index over legacy
+ * duplicates) startup fails after all errors are logged, since the services rely on these
+ * indexes for uniqueness and not just for speed. An unreachable database only skips creation.
+ */
+@Component
+public class MongoIndexInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    // Queries must use this exact collation to be served by the *_ci indexes.
+    public static final String CASE_INSENSITIVE = "{ 'locale' : 'en', 'strength' : 2 }";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        List<String> failures = new ArrayList<>();
+        try {
+            for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+                if (!entity.isAnnotationPresent(Document.class)) continue;
+                for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                    ensure(entity.getType(), index, failures);
+                }
+            }
+
+            Collation caseInsensitive = Collation.parse(CASE_INSENSITIVE);
+            ensure(Employee.class, new Index().on("role", Sort.Direction.ASC).named("role_ci")
+                    .collation(caseInsensitive), failures);
+            ensure(Employee.class, new Index().on("department", Sort.Direction.ASC).named("department_ci")
+                    .collation(caseInsensitive), failures);
+            ensure(EmployeeData.class, new Index().on("gender", Sort.Direction.ASC).named("gender_ci")
+                    .collation(caseInsensitive), failures);
+            // the directory's $lookup runs under the aggregation's collation when it filters by gender
+            ensure(EmployeeData.class, new Index().on("empMail", Sort.Direction.ASC).named("empMail_ci")
+                    .collation(caseInsensitive).sparse(), failures);
+            ensure(Employee.class, new Index().on("profile.gender", Sort.Direction.ASC).named("profile_gender_ci")
+                    .collation(caseInsensitive).sparse(), failures);
+        } catch (DataAccessResourceFailureException e) {
+            logger.warn("MongoDB unreachable, skipping index creation: {}", e.getMessage());
+            return;
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Could not create " + failures.size() + " index(es): "
+                    + String.join("; ", failures) + ". Fix the offending documents or drop the conflicting index, then restart.");
+        }
+    }
+
+    private void ensure(Class<?> type, IndexDefinition index, List<String> failures) {
+        try {
+            mongoTemplate.indexOps(type).createIndex(index);
+        } catch (DataAccessResourceFailureException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            String collection = mongoTemplate.getCollectionName(type);
+            logger.error("Could not create index {} on {}: {}", index.getIndexKeys(), collection, e.getMessage());
+            failures.add(collection + " " + index.getIndexKeys().toJson());
+        }
+    }
+}
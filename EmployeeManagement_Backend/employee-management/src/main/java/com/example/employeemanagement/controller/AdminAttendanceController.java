@@ -0,0 +1,25 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.service.AttendanceMigrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/attendance")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminAttendanceController {
+
+    @Autowired
+    private AttendanceMigrationService migrationService;
+
+    @PostMapping("/migrate-to-monthly")
+    public ResponseEntity<String> migrateToMonthly() {
+        AttendanceMigrationService.MigrationResult result = migrationService.migrateDailyToMonthly();
+        String message = "✅ Migrated " + result.getRowsRead() + " attendance rows into "
+                + result.getMonthsWritten() + " monthly documents (" + result.getRowsSkipped() + " skipped).";
+        if (!result.getSkippedRows().isEmpty()) message += " Skipped: " + String.join("; ", result.getSkippedRows());
+        return ResponseEntity.ok(message);
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.model.EmployeeData;
-import com.example.employeemanagement.repository.EmployeeDataRepository;
+import com.example.employeemanagement.repository.ProfileStore;
+import com.example.employeemanagement.service.EmployeeProfileMigrationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
@@ -13,7 +14,10 @@ import java.util.*;
 public class AdminEmployeeDataController {
 
     @Autowired
-    private EmployeeDataRepository dataRepo;
+    private ProfileStore dataRepo;
+
+    @Autowired
+    private EmployeeProfileMigrationService migrationService;
 
     @PostMapping("/{empId}")
     public ResponseEntity<?> createByEmpId(@PathVariable String empId, @RequestBody EmployeeData data) {
@@ -21,7 +25,11 @@ public class AdminEmployeeDataController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("❌ Data for empId already exists.");
         }
         data.setEmpId(empId);
-        return ResponseEntity.ok(dataRepo.save(data));
+        try {
+            return ResponseEntity.ok(dataRepo.save(data));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
     }
 
     @PutMapping("/{empId}")
@@ -39,4 +47,13 @@ public class AdminEmployeeDataController {
 
         return ResponseEntity.ok(dataRepo.save(existing));
     }
+
+    // resumable: copies employee_data into the employees' embedded profiles from the last checkpoint
+    @PostMapping("/migrate-to-embedded")
+    public ResponseEntity<?> migrateToEmbedded() {
+        if (!dataRepo.embedded()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("❌ Set employee.profile.storage=embedded first.");
+        }
+        return ResponseEntity.ok(migrationService.migrateToEmbedded());
+    }
 }
@@ -0,0 +1,36 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.model.JobPartition;
+import com.example.employeemanagement.model.JobRun;
+import com.example.employeemanagement.service.ClusterJobRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// run state of the clustered jobs: who planned a run, its totals, and each partition's owner and attempts
+@RestController
+@RequestMapping("/admin/jobs")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminJobController {
+
+    private static final int MAX_RUNS = 100;
+
+    @Autowired
+    private ClusterJobRunner jobRunner;
+
+    @GetMapping("/runs")
+    public List<JobRun> getRuns(@RequestParam(required = false) String job,
+                                @RequestParam(defaultValue = "30") int limit) {
+        return jobRunner.recentRuns(job, Math.max(1, Math.min(limit, MAX_RUNS)));
+    }
+
+    @GetMapping("/runs/{runId}/partitions")
+    public ResponseEntity<List<JobPartition>> getPartitions(@PathVariable String runId) {
+        List<JobPartition> partitions = jobRunner.partitions(runId);
+        if (partitions.isEmpty()) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(partitions);
+    }
+}
@@ -1,54 +1,33 @@
 package com.example.employeemanagement.controller;
 
-import com.example.employeemanagement.security.JwtUtil;
-import com.example.employeemanagement.service.AppUserDetailsService;
+import com.example.employeemanagement.service.LoginService;
+import com.example.employeemanagement.service.PrincipalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/auth")
 public class AppUserLoginController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
-
-    @Autowired
-    private AppUserDetailsService appUserDetailsService;
-
-    @Autowired
-    private JwtUtil jwtUtil;
+    private LoginService loginService;
 
+    // async: the request thread is released while BCrypt runs on the login pool
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> request) {
-        String username = request.get("mail");
-        String password = request.get("password");
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(username, password)
-            );
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(401).body("❌ Invalid credentials");
-        }
-
-        UserDetails userDetails = appUserDetailsService.loadUserByUsername(username);
-        System.out.println(userDetails.getUsername() + " " + userDetails.getPassword()) ;
-        String role = userDetails.getAuthorities().stream()
-                .findFirst().map(GrantedAuthority::getAuthority).orElse("ROLE_EMPLOYEE");
-
-        String token = jwtUtil.generateToken(userDetails.getUsername(), role.replace("ROLE_", ""));
-        Map<String, String> response = new HashMap<>();
-        response.put("role",role.replace("ROLE_", ""));
-        response.put("token", token);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody Map<String, String> request) {
+        return loginService.login(PrincipalService.Realm.APP, request.get("mail"), request.get("password"))
+                .<ResponseEntity<?>>thenApply(result -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("role", result.getRole());
+                    response.put("token", result.getToken());
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(LoginResponses::failure);
     }
 
     @GetMapping("/test")
@@ -56,4 +35,3 @@ public class AppUserLoginController {
         return ResponseEntity.ok("✅ HR/Employee Access Confirmed");
     }
 }
-
@@ -1,18 +1,31 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.AttendanceGenerationResult;
+import com.example.employeemanagement.dto.AttendanceStatusChange;
+import com.example.employeemanagement.dto.AttendanceSummaryRow;
 import com.example.employeemanagement.dto.AttendanceUpdateRequest;
 import com.example.employeemanagement.model.Attendance;
 import com.example.employeemanagement.model.Employee;
-import com.example.employeemanagement.repository.AttendanceRepository;
+import com.example.employeemanagement.repository.AttendanceStore;
 import com.example.employeemanagement.repository.EmployeeRepository;
 
+import com.example.employeemanagement.service.AttendanceExportService;
+import com.example.employeemanagement.service.AttendanceGenerationService;
 import com.example.employeemanagement.service.AttendanceService;
+import com.example.employeemanagement.service.AttendanceSummaryService;
+import com.example.employeemanagement.service.WorkingDayCalendar;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.Optional;
@@ -24,45 +37,55 @@ import java.util.Optional;
 public class AttendanceController {
 
     @Autowired
-    private AttendanceRepository attendanceRepo;
+    private AttendanceStore attendanceStore;
     @Autowired
     private EmployeeRepository employeeRepo;
     @Autowired
     private AttendanceService attendanceService;
+    @Autowired
+    private AttendanceGenerationService generationService;
+    @Autowired
+    private AttendanceSummaryService summaryService;
+    @Autowired
+    private AttendanceExportService exportService;
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
 
     @PostMapping("/generate")
     public ResponseEntity<String> generateTodayAttendance() {
-        System.out.println("tried generating attendance");
         LocalDate today = LocalDate.now();
-        List<Employee> employees = employeeRepo.findByRoleIgnoreCase("EMPLOYEE");
-
-        for (Employee emp : employees) {
-            Optional<Attendance> existing = attendanceRepo.findByEmployeeMailAndDate(emp.getMail(), today);
-            if (existing.isEmpty()) {
-                Attendance att = new Attendance();
-                att.setEmployeeMail(emp.getMail());
-                att.setDate(today);
-                att.setStatus("Absent");
-                attendanceRepo.save(att);
-            }
+        if (!workingDayCalendar.isWorkingDay(today)) {
+            return ResponseEntity.ok("ℹ️ Today is not a working day; no attendance records created.");
         }
-
-        return ResponseEntity.ok("✅ Attendance records created for today.");
+        AttendanceGenerationResult result = generationService.generateFor(today);
+        return ResponseEntity.ok("✅ Attendance records created for today: " + result.getInserted()
+                + " new, " + result.getExisting() + " already present.");
     }
 
     @PutMapping("/update")
     public ResponseEntity<String> updateAttendance(@RequestParam String mail, @RequestParam String date, @RequestParam String status) {
         LocalDate localDate = LocalDate.parse(date);
-        Optional<Attendance> existing = attendanceRepo.findByEmployeeMailAndDate(mail, localDate);
-        if (existing.isPresent()) {
-            Attendance att = existing.get();
-            att.setStatus(status);
-            attendanceRepo.save(att);
-            return ResponseEntity.ok("✅ Attendance updated.");
+        Optional<Attendance> updated;
+        try {
+            updated = attendanceStore.updateStatus(mail, localDate, status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+        if (updated.isPresent()) {
+            return ResponseEntity.ok("✅ Attendance updated to " + updated.get().getStatus() + ".");
         }
         return ResponseEntity.badRequest().body("❌ No attendance record found for that date.");
     }
 
+    @PutMapping("/batch")
+    public ResponseEntity<?> updateAttendanceBatch(@RequestBody List<AttendanceStatusChange> changes) {
+        try {
+            return ResponseEntity.ok(attendanceService.applyStatusChanges(changes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
+
     @PreAuthorize("hasRole('HR')")
     @PutMapping("/mark-present")
     public ResponseEntity<String> markPresent(@RequestBody AttendanceUpdateRequest request) {
@@ -72,17 +95,81 @@ public class AttendanceController {
 
     @GetMapping("/day")
     public List<Attendance> getDayAttendance(@RequestParam String date) {
-        return attendanceRepo.findByDate(LocalDate.parse(date));
+        return attendanceStore.findByDate(LocalDate.parse(date));
     }
     @GetMapping("/range")
     public List<Attendance> getAttendanceRange(
             @RequestParam String start,
             @RequestParam String end) {
-        return attendanceRepo.findByDateBetween(
+        return attendanceStore.findByDateBetween(
                 LocalDate.parse(start),
                 LocalDate.parse(end)
         );
     }
 
+    @GetMapping("/day/export")
+    public void exportDayAttendance(@RequestParam String date,
+                                    @RequestParam(defaultValue = "ndjson") String format,
+                                    HttpServletResponse response) throws IOException {
+        if (!AttendanceExportService.isSupportedFormat(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported format: " + format);
+            return;
+        }
+        LocalDate day;
+        try {
+            day = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid date format (Expected: yyyy-MM-dd)");
+            return;
+        }
+        exportService.exportDay(day, format, openExport(response, format, "attendance-" + day));
+    }
+
+    // the rows /range returns: start and end themselves are left out
+    @GetMapping("/range/export")
+    public void exportAttendanceRange(@RequestParam String start,
+                                      @RequestParam String end,
+                                      @RequestParam(defaultValue = "ndjson") String format,
+                                      HttpServletResponse response) throws IOException {
+        if (!AttendanceExportService.isSupportedFormat(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported format: " + format);
+            return;
+        }
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(start);
+            to = LocalDate.parse(end);
+        } catch (DateTimeParseException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid date format (Expected: yyyy-MM-dd)");
+            return;
+        }
+        exportService.exportRange(from, to, format, openExport(response, format, "attendance-" + from + "_" + to));
+    }
 
+    private Writer openExport(HttpServletResponse response, String format, String fileName) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"" + fileName + (csv ? ".csv" : ".ndjson") + "\"");
+        return new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<?> getAttendanceSummary(
+            @RequestParam String start,
+            @RequestParam String end,
+            @RequestParam(defaultValue = "total") String granularity,
+            @RequestParam(defaultValue = "employee") String groupBy) {
+        try {
+            List<AttendanceSummaryRow> rows = summaryService.summarize(
+                    LocalDate.parse(start), LocalDate.parse(end), granularity, groupBy);
+            return ResponseEntity.ok(rows);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("❌ Invalid date format (Expected: yyyy-MM-dd)");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
 }
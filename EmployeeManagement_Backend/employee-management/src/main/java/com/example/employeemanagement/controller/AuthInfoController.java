@@ -1,11 +1,8 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.dto.UserDetailsResponse;
-import com.example.employeemanagement.model.Admin;
-import com.example.employeemanagement.model.Employee;
-import com.example.employeemanagement.repository.AdminRepository;
-import com.example.employeemanagement.repository.EmployeeRepository;
 import com.example.employeemanagement.security.JwtUtil;
+import com.example.employeemanagement.service.PrincipalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,11 +17,9 @@ public class AuthInfoController {
     private JwtUtil jwtTokenUtil;
 
     @Autowired
-    private EmployeeRepository employeeRepository;
-
-    @Autowired
-    private AdminRepository adminRepository;
+    private PrincipalService principalService;
 
+    // called on every page load; both the token and the user come from in-memory caches
     @GetMapping("/me")
     public ResponseEntity<?> getMyDetails(@RequestHeader("Authorization") String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -32,14 +27,17 @@ public class AuthInfoController {
         }
 
         String token = authHeader.substring(7);
-        String identifier = jwtTokenUtil.extractUsername(token);
-        String role = jwtTokenUtil.extractRole(token);
+        Optional<JwtUtil.VerifiedToken> verified = jwtTokenUtil.verify(token);
+        if (verified.isEmpty()) return ResponseEntity.status(401).body("Invalid or expired token");
+
+        String identifier = verified.get().getUsername();
+        String role = verified.get().getRole();
 
         if ("ADMIN".equalsIgnoreCase(role)) {
-            Optional<Admin> adminOpt = adminRepository.findByUsername(identifier);
+            Optional<PrincipalService.ResolvedUser> adminOpt = principalService.resolve(PrincipalService.Realm.ADMIN, identifier);
             if (adminOpt.isEmpty()) return ResponseEntity.status(404).body("Admin not found");
 
-            Admin admin = adminOpt.get();
+            PrincipalService.ResolvedUser admin = adminOpt.get();
             UserDetailsResponse response = new UserDetailsResponse(
                     admin.getUsername(),
                     admin.getUsername(),
@@ -50,13 +48,13 @@ public class AuthInfoController {
             return ResponseEntity.ok(response);
         }
 
-        Optional<Employee> employeeOpt = employeeRepository.findByMail(identifier);
+        Optional<PrincipalService.ResolvedUser> employeeOpt = principalService.resolve(PrincipalService.Realm.APP, identifier);
         if (employeeOpt.isEmpty()) return ResponseEntity.status(404).body("User not found");
 
-        Employee emp = employeeOpt.get();
+        PrincipalService.ResolvedUser emp = employeeOpt.get();
         UserDetailsResponse response = new UserDetailsResponse(
                 emp.getName(),
-                emp.getMail(),
+                emp.getUsername(),
                 emp.getRole(),
                 emp.getDepartment(),
                 emp.getJobRole()
@@ -0,0 +1,39 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.model.DepartmentStats;
+import com.example.employeemanagement.service.DepartmentStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// served from the department_stats rollups: one document per department
+@RestController
+@RequestMapping("/hr/stats/departments")
+@PreAuthorize("hasRole('HR')")
+public class DepartmentStatsController {
+
+    @Autowired
+    private DepartmentStatsService departmentStats;
+
+    @GetMapping
+    public List<DepartmentStats> getAll() {
+        return departmentStats.all();
+    }
+
+    @GetMapping("/{department}")
+    public ResponseEntity<DepartmentStats> getOne(@PathVariable String department) {
+        DepartmentStats stats = departmentStats.of(department);
+        if (stats == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(stats);
+    }
+
+    // reconciles every rollup with the employees now; the same job runs nightly
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        return ResponseEntity.ok(Map.of("departments", departmentStats.rebuild()));
+    }
+}
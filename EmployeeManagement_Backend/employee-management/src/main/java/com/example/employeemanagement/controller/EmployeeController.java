@@ -1,10 +1,16 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.EmployeeListPage;
 import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.LeaveBalance;
 import com.example.employeemanagement.repository.EmployeeRepository;
 import com.example.employeemanagement.repository.LeaveBalanceRepository;
+import com.example.employeemanagement.service.EmployeeListService;
+import com.example.employeemanagement.service.EmployeeUpdateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -12,9 +18,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
@@ -27,6 +34,12 @@ public class EmployeeController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EmployeeListService employeeListService;
+
+    @Autowired
+    private EmployeeUpdateService employeeUpdateService;
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public Employee createEmployee(@RequestBody Employee employee) {
@@ -38,21 +51,23 @@ public class EmployeeController {
         }
 
         employee.setPass(passwordEncoder.encode(employee.getPass()));
-        LeaveBalance balance = new LeaveBalance();
-        balance.setEmployeeMail(employee.getMail());
-        balance.setAnnualLeave(15);
-        balance.setSickLeave(8);
-        balance.setPersonalLeave(3);
-        balance.setEmergencyLeave(2);
-        leaveBalanceRepo.save(balance);
+        leaveBalanceRepo.save(LeaveBalance.opening(employee.getMail()));
 
         return employeeRepository.save(employee);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    public ResponseEntity<?> getAllEmployees(@RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "50") int limit,
+                                             @RequestParam(defaultValue = "mail") String sort,
+                                             @RequestParam(defaultValue = "asc") String direction) {
+        try {
+            EmployeeListPage page = employeeListService.list(cursor, limit, sort, direction.equalsIgnoreCase("desc"));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -63,9 +78,21 @@ public class EmployeeController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
-    public Employee updateEmployee(@PathVariable String id, @RequestBody Employee updatedEmployee) {
-        updatedEmployee.setId(id);
-        return employeeRepository.save(updatedEmployee);
+    public ResponseEntity<Employee> updateEmployee(@PathVariable String id, @RequestBody Employee updatedEmployee) {
+        // the editable fields only; a whole-document save would erase the embedded profile
+        Update update = new Update()
+                .set("mail", updatedEmployee.getMail())
+                .set("role", updatedEmployee.getRole())
+                .set("profilePicUrl", updatedEmployee.getProfilePicUrl())
+                .set("department", updatedEmployee.getDepartment())
+                .set("jobRole", updatedEmployee.getJobRole())
+                .set("salary", updatedEmployee.getSalary())
+                .set("name", updatedEmployee.getName());
+        if (updatedEmployee.getPass() != null && !updatedEmployee.getPass().isBlank()) {
+            update.set("pass", passwordEncoder.encode(updatedEmployee.getPass()));
+        }
+        Employee updated = employeeUpdateService.update(new Query(where("_id").is(id)), update);
+        return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("/{id}")
@@ -1,7 +1,7 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.model.EmployeeData;
-import com.example.employeemanagement.repository.EmployeeDataRepository;
+import com.example.employeemanagement.repository.ProfileStore;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -14,7 +14,7 @@ import java.util.List;
 public class EmployeeDataController {
 
     @Autowired
-    private EmployeeDataRepository dataRepo;
+    private ProfileStore dataRepo;
 
     @PostMapping
     public EmployeeData createData(@RequestBody EmployeeData data) {
@@ -0,0 +1,53 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.model.Holiday;
+import com.example.employeemanagement.repository.HolidayRepository;
+import com.example.employeemanagement.service.WorkingDayCalendar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/hr/holidays")
+@PreAuthorize("hasRole('HR')")
+public class HolidayController {
+
+    @Autowired
+    private HolidayRepository holidayRepo;
+
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
+
+    @GetMapping
+    public List<Holiday> getHolidays(@RequestParam int year,
+                                     @RequestParam(required = false) String calendar) {
+        return holidayRepo.findInRange(calendar != null ? calendar : workingDayCalendar.getCalendar(),
+                LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    @PostMapping
+    public ResponseEntity<String> addHoliday(@RequestBody Holiday holiday) {
+        if (holiday.getDate() == null || holiday.getName() == null || holiday.getName().isBlank()) {
+            return ResponseEntity.badRequest().body("❌ Date and name are required.");
+        }
+        if (holiday.getCalendar() == null) holiday.setCalendar(workingDayCalendar.getCalendar());
+        if (holidayRepo.existsByCalendarAndDate(holiday.getCalendar(), holiday.getDate())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("❌ A holiday already exists on that date.");
+        }
+        holiday.setId(null);
+        holidayRepo.save(holiday);
+        return ResponseEntity.ok("✅ Holiday added.");
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<String> deleteHoliday(@PathVariable String id) {
+        if (!holidayRepo.existsById(id)) return ResponseEntity.status(404).body("❌ Holiday not found.");
+        holidayRepo.deleteById(id);
+        return ResponseEntity.ok("✅ Holiday deleted.");
+    }
+}
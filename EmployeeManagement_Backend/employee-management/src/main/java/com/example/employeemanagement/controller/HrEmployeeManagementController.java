@@ -4,17 +4,31 @@ import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.EmployeeData;
 import com.example.employeemanagement.model.LeaveBalance;
 import com.example.employeemanagement.repository.EmployeeRepository;
-import com.example.employeemanagement.repository.EmployeeDataRepository;
+import com.example.employeemanagement.repository.ProfileStore;
+import com.example.employeemanagement.dto.EmployeeListItem;
 import com.example.employeemanagement.dto.EmployeeProfileDTO;
 
 import com.example.employeemanagement.repository.LeaveBalanceRepository;
+import com.example.employeemanagement.service.EmployeeDirectoryService;
+import com.example.employeemanagement.service.EmployeeImportService;
+import com.example.employeemanagement.service.EmployeeSearchService;
+import com.example.employeemanagement.service.EmployeeUpdateService;
+import com.example.employeemanagement.service.ProfileCache;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZoneId;
@@ -22,6 +36,8 @@ import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
 @RestController
 @RequestMapping("/hr/manage")
 public class HrEmployeeManagementController {
@@ -33,24 +49,33 @@ public class HrEmployeeManagementController {
     private EmployeeRepository employeeRepo;
 
     @Autowired
-    private EmployeeDataRepository employeeDataRepo;
+    private ProfileStore profileStore;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EmployeeDirectoryService directoryService;
+
+    @Autowired
+    private EmployeeSearchService searchService;
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private EmployeeUpdateService employeeUpdateService;
+
     @PreAuthorize("hasRole('HR')")
     @PostMapping("/employee")
     public ResponseEntity<String> createEmployee(@RequestBody Employee employee) {
         employee.setPass(passwordEncoder.encode(employee.getPass()));
         employee.setRole("EMPLOYEE");
         employeeRepo.save(employee);
-        LeaveBalance balance = new LeaveBalance();
-        balance.setEmployeeMail(employee.getMail());
-        balance.setAnnualLeave(15);
-        balance.setSickLeave(8);
-        balance.setPersonalLeave(3);
-        balance.setEmergencyLeave(2);
-        leaveBalanceRepo.save(balance);
+        leaveBalanceRepo.save(LeaveBalance.opening(employee.getMail()));
         return ResponseEntity.ok("✅ Employee created with mail: " + employee.getMail());
     }
 
@@ -62,7 +87,7 @@ public class HrEmployeeManagementController {
             return ResponseEntity.badRequest().body("❌ No employee found with mail: " + mail);
         }
 
-        EmployeeData existing = employeeDataRepo.findByEmpMail(mail);
+        EmployeeData existing = profileStore.findByMail(mail);
         data.setEmpMail(mail);
 
         if (existing != null) {
@@ -70,10 +95,10 @@ public class HrEmployeeManagementController {
             existing.setGender(data.getGender());
             existing.setMobile(data.getMobile());
             existing.setAddress(data.getAddress());
-            employeeDataRepo.save(existing);
+            profileStore.save(existing);
             return ResponseEntity.ok("✅ Employee data updated for: " + mail);
         } else {
-            employeeDataRepo.save(data);
+            profileStore.save(data);
             return ResponseEntity.ok("✅ Employee data created for: " + mail);
         }
     }
@@ -81,7 +106,7 @@ public class HrEmployeeManagementController {
     @PreAuthorize("hasRole('HR')")
     @GetMapping("/employee-data/{mail}")
     public ResponseEntity<EmployeeData> getEmployeeData(@PathVariable String mail) {
-        EmployeeData data = employeeDataRepo.findByEmpMail(mail);
+        EmployeeData data = profileCache.employeeData(mail);
         if (data == null) return ResponseEntity.notFound().build();
         return ResponseEntity.ok(data);
     }
@@ -93,21 +118,20 @@ public class HrEmployeeManagementController {
             return ResponseEntity.badRequest().body("❌ Employee mail is required.");
         }
 
-        Optional<Employee> opt = employeeRepo.findByMail(updated.getMail());
-        if (opt.isEmpty()) return ResponseEntity.badRequest().body("❌ No employee found with mail: " + updated.getMail());
-
-        Employee emp = opt.get();
-
-        emp.setName(updated.getName());
-        emp.setDepartment(updated.getDepartment());
-        emp.setJobRole(updated.getJobRole());
-        emp.setSalary(updated.getSalary());
+        // a targeted $set, so a profile written concurrently through the embedded store survives
+        Update update = new Update()
+                .set("name", updated.getName())
+                .set("department", updated.getDepartment())
+                .set("jobRole", updated.getJobRole())
+                .set("salary", updated.getSalary());
 
         if (updated.getPass() != null && !updated.getPass().isBlank()) {
-            emp.setPass(passwordEncoder.encode(updated.getPass()));
+            update.set("pass", passwordEncoder.encode(updated.getPass()));
         }
 
-        employeeRepo.save(emp);
+        if (employeeUpdateService.update(new Query(where("mail").is(updated.getMail())), update) == null) {
+            return ResponseEntity.badRequest().body("❌ No employee found with mail: " + updated.getMail());
+        }
         return ResponseEntity.ok("✅ Employee updated for mail: " + updated.getMail());
     }
 
@@ -124,45 +148,71 @@ public class HrEmployeeManagementController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "mail") String sort,
-            @RequestParam(defaultValue = "asc") String direction
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor
     ) {
         Sort.Direction sortDir = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDir, sort));
 
-        List<Employee> pagedEmployees = employeeRepo.findAll(pageable).getContent();
-
-        List<EmployeeProfileDTO> result = pagedEmployees.stream()
-                .map(emp -> new EmployeeProfileDTO(emp, employeeDataRepo.findByEmpMail(emp.getMail())))
-                .filter(dto -> {
-                    if (gender != null && (dto.getEmployeeData() == null ||
-                            !gender.equalsIgnoreCase(dto.getEmployeeData().getGender()))) return false;
-                    if (role != null && !dto.getEmployee().getRole().equalsIgnoreCase(role)) return false;
-                    if (name != null && (dto.getEmployee().getName() == null ||
-                            !dto.getEmployee().getName().toLowerCase().contains(name.toLowerCase()))) return false;
-                    if (department != null && !department.equalsIgnoreCase(dto.getEmployee().getDepartment())) return false;
-
-                    if (age != null && dto.getEmployeeData() != null && dto.getEmployeeData().getDob() != null) {
-                        LocalDate dob = dto.getEmployeeData().getDob();
-                        if (dob == null) return false;
+        if (cursor != null) {
+            // keyset mode: "?cursor=" for the first page, then the X-Next-Cursor value
+            EmployeeDirectoryService.CursorSlice slice;
+            try {
+                slice = directoryService.searchAfter(gender, role, name, department, age, pageable, cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (slice.getNextCursor() != null) response.header("X-Next-Cursor", slice.getNextCursor());
+            return response.body(slice.getContent());
+        }
 
-                        int calculatedAge = Period.between(dob, LocalDate.now()).getYears();
-                        return calculatedAge == age;
-                    }
+        Page<EmployeeProfileDTO> result;
+        try {
+            result = directoryService.search(gender, role, name, department, age, pageable);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
 
-                    return true;
-                })
-                .collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
+    }
 
-        return ResponseEntity.ok(result);
+    // type-ahead over name, mail, department and jobRole; every word of q is matched as a prefix
+    @PreAuthorize("hasRole('HR')")
+    @GetMapping("/employees/search")
+    public ResponseEntity<List<EmployeeListItem>> searchEmployees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(searchService.search(q, limit));
     }
 
+    // bulk onboarding: text/csv with a header row, or application/x-ndjson with one object per line
+    @PreAuthorize("hasRole('HR')")
+    @PostMapping(value = "/employees/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importEmployees(HttpServletRequest request) throws IOException {
+        EmployeeImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? EmployeeImportService.Format.CSV : EmployeeImportService.Format.NDJSON;
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(importService.importEmployees(reader, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        }
+    }
 
     @PreAuthorize("hasRole('HR')")
     @GetMapping("/employees/with-data/{mail}")
     public ResponseEntity<EmployeeProfileDTO> getEmployeeAndData(@PathVariable String mail) {
-        Optional<Employee> employeeOpt = employeeRepo.findByMail(mail);
+        Optional<Employee> employeeOpt = profileCache.employee(mail);
         if (employeeOpt.isEmpty()) return ResponseEntity.notFound().build();
-        EmployeeData data = employeeDataRepo.findByEmpMail(mail);
-        return ResponseEntity.ok(new EmployeeProfileDTO(employeeOpt.get(), data));
+        Employee employee = employeeOpt.get();
+        // embedded profiles come with the employee; otherwise a second (cached) read
+        EmployeeData data = employee.getProfile() != null
+                ? employee.getProfile().toEmployeeData(employee)
+                : profileCache.employeeData(mail);
+        return ResponseEntity.ok(new EmployeeProfileDTO(employee, data));
     }
 }
@@ -1,19 +1,28 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.model.LeaveLedgerEvent;
 import com.example.employeemanagement.model.LeaveRequest;
 import com.example.employeemanagement.repository.EmployeeRepository;
-import com.example.employeemanagement.repository.LeaveBalanceRepository;
 import com.example.employeemanagement.repository.LeaveRequestRepository;
+import com.example.employeemanagement.dto.LeaveQueuePage;
+import com.example.employeemanagement.service.LeaveApprovalService;
+import com.example.employeemanagement.service.LeaveCalendarService;
+import com.example.employeemanagement.service.LeaveLedgerService;
+import com.example.employeemanagement.service.LeaveQueueService;
+import com.example.employeemanagement.service.ProfileCache;
+import com.example.employeemanagement.service.WorkingDayCalendar;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.time.Period;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -24,10 +33,25 @@ public class LeaveController {
     private LeaveRequestRepository leaveRepo;
 
     @Autowired
-    private LeaveBalanceRepository leaveBalanceRepo;
+    private EmployeeRepository employeeRepo;
 
     @Autowired
-    private EmployeeRepository employeeRepo;
+    private ProfileCache profileCache;
+
+    @Autowired
+    private LeaveApprovalService leaveApprovalService;
+
+    @Autowired
+    private LeaveQueueService leaveQueueService;
+
+    @Autowired
+    private LeaveCalendarService leaveCalendarService;
+
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
+
+    @Autowired
+    private LeaveLedgerService leaveLedger;
 
     @PostMapping("/request-leave")
     @PreAuthorize("hasRole('EMPLOYEE')")
@@ -43,11 +67,12 @@ public class LeaveController {
             return ResponseEntity.badRequest().body(" All fields must be filled.");
         }
 
-        int days = Period.between(request.getStartDate(), request.getEndDate()).getDays() + 1;
+        int days = workingDayCalendar.businessDays(request.getStartDate(), request.getEndDate());
+        if (days == 0) return ResponseEntity.badRequest().body(" The selected dates contain no working days.");
         request.setTotalDays(days);
         request.setStatus("Pending");
 
-        LeaveBalance balance = leaveBalanceRepo.findByEmployeeMail(request.getEmployeeMail());
+        LeaveBalance balance = leaveLedger.balance(request.getEmployeeMail());
         if (balance == null) return ResponseEntity.badRequest().body(" Leave balance not found.");
 
         switch (request.getLeaveType()) {
@@ -63,58 +88,103 @@ public class LeaveController {
             case "Emergency":
                 if (balance.getEmergencyLeave() < days) return ResponseEntity.badRequest().body(" Insufficient emergency leave.");
                 break;
+            case LeaveRequest.UNPAID:
+                break;
             default:
                 return ResponseEntity.badRequest().body(" Invalid leave type.");
         }
 
+        Optional<LeaveRequest> overlap = leaveCalendarService.findOverlap(
+                request.getEmployeeMail(), request.getStartDate(), request.getEndDate(), null);
+        if (overlap.isPresent()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(" Overlaps your " + overlap.get().getStatus().toLowerCase()
+                    + " leave from " + overlap.get().getStartDate() + " to " + overlap.get().getEndDate() + ".");
+        }
+
         leaveRepo.save(request);
         return ResponseEntity.ok(" Leave request submitted.");
     }
 
+    // unbounded; kept for existing clients, new screens should page through /queue
     @GetMapping("/all")
     @PreAuthorize("hasRole('HR')")
     public List<LeaveRequest> getAllRequests() {
         return leaveRepo.findAll();
     }
 
+    @GetMapping("/queue")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<?> getQueue(@RequestParam(required = false) String status,
+                                      @RequestParam(required = false) String leaveType,
+                                      @RequestParam(required = false) String mail,
+                                      @RequestParam(required = false) String from,
+                                      @RequestParam(required = false) String to,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "25") int limit) {
+        try {
+            LeaveQueuePage page = leaveQueueService.queue(status, leaveType, mail,
+                    from != null ? LocalDate.parse(from) : null,
+                    to != null ? LocalDate.parse(to) : null,
+                    cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(" " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/on-leave")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<?> getOnLeave(@RequestParam String from,
+                                        @RequestParam String to,
+                                        @RequestParam(defaultValue = "false") boolean includePending) {
+        try {
+            return ResponseEntity.ok(leaveCalendarService.onLeave(LocalDate.parse(from), LocalDate.parse(to), includePending));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(" " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/team-availability")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<?> getTeamAvailability(@RequestParam String department,
+                                                 @RequestParam String from,
+                                                 @RequestParam String to,
+                                                 @RequestParam(defaultValue = "false") boolean includePending) {
+        try {
+            return ResponseEntity.ok(leaveCalendarService.teamAvailability(
+                    department, LocalDate.parse(from), LocalDate.parse(to), includePending));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(" " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/pending-count")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<Map<String, Long>> getPendingCount() {
+        return ResponseEntity.ok(Map.of("pending", leaveQueueService.pendingCount()));
+    }
+
     @PutMapping("/action")
     @PreAuthorize("hasRole('HR')")
     public ResponseEntity<String> actOnRequest(@RequestParam String requestId,
                                                @RequestParam String status,
                                                @RequestParam String hrMail,
                                                @RequestParam(required = false) String reason) {
-        Optional<LeaveRequest> opt = leaveRepo.findById(requestId);
-        if (opt.isEmpty()) return ResponseEntity.badRequest().body("Request not found");
-
-        LeaveRequest request = opt.get();
-        if (!request.getStatus().equalsIgnoreCase("Pending")) {
-            return ResponseEntity.badRequest().body("Already handled by " + request.getReviewedBy());
-        }
-
-        request.setStatus(status);
-        request.setReviewedBy(hrMail);
-        request.setDecisionDate(LocalDate.now());
-        request.setDecisionReason(reason != null ? reason : "");
-
-        if (status.equalsIgnoreCase("Approved")) {
-            LeaveBalance balance = leaveBalanceRepo.findByEmployeeMail(request.getEmployeeMail());
-            int days = request.getTotalDays();
-
-            switch (request.getLeaveType()) {
-                case "Annual":
-                    balance.setAnnualLeave(balance.getAnnualLeave() - days); break;
-                case "Sick":
-                    balance.setSickLeave(balance.getSickLeave() - days); break;
-                case "Personal":
-                    balance.setPersonalLeave(balance.getPersonalLeave() - days); break;
-                case "Emergency":
-                    balance.setEmergencyLeave(balance.getEmergencyLeave() - days); break;
-            }
-            leaveBalanceRepo.save(balance);
+        LeaveApprovalService.Decision decision = leaveApprovalService.decide(requestId, status, hrMail, reason);
+        switch (decision.getOutcome()) {
+            case NOT_FOUND:
+                return ResponseEntity.badRequest().body("Request not found");
+            case ALREADY_HANDLED:
+                return ResponseEntity.badRequest().body("Already handled by " + decision.getReviewedBy());
+            case INSUFFICIENT_BALANCE:
+                return ResponseEntity.badRequest().body(" Insufficient leave balance.");
+            case INVALID_LEAVE_TYPE:
+                return ResponseEntity.badRequest().body(" Invalid leave type.");
+            case INVALID_STATUS:
+                return ResponseEntity.badRequest().body(" Status must be Approved or Rejected.");
+            default:
+                return ResponseEntity.ok(" Request " + status + " by " + hrMail);
         }
-
-        leaveRepo.save(request);
-        return ResponseEntity.ok(" Request " + status + " by " + hrMail);
     }
 
     @GetMapping("/my-requests")
@@ -123,24 +193,46 @@ public class LeaveController {
         return leaveRepo.findByEmployeeMail(mail);
     }
 
+    // recorded as an ADJUSTMENT event taking the balance to the given values
     @PutMapping("/update-balance")
     @PreAuthorize("hasRole('HR')")
-    public ResponseEntity<String> updateLeaveBalance(@RequestBody LeaveBalance newBalance) {
-        LeaveBalance existing = leaveBalanceRepo.findByEmployeeMail(newBalance.getEmployeeMail());
-        if (existing == null) return ResponseEntity.badRequest().body(" Employee not found.");
-
-        existing.setAnnualLeave(newBalance.getAnnualLeave());
-        existing.setSickLeave(newBalance.getSickLeave());
-        existing.setPersonalLeave(newBalance.getPersonalLeave());
-        existing.setEmergencyLeave(newBalance.getEmergencyLeave());
-        leaveBalanceRepo.save(existing);
+    public ResponseEntity<String> updateLeaveBalance(@RequestBody LeaveBalance newBalance,
+                                                     @RequestParam(required = false) String hrMail,
+                                                     @RequestParam(required = false) String reason) {
+        LeaveLedgerService.Result result = leaveLedger.adjustTo(newBalance.getEmployeeMail(), newBalance, hrMail, reason);
+        if (result == LeaveLedgerService.Result.NOT_FOUND) return ResponseEntity.badRequest().body(" Employee not found.");
 
         return ResponseEntity.ok("✅ Leave balance updated.");
     }
+
+    @PostMapping("/accrue")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<String> accrueLeave(@RequestParam String mail,
+                                              @RequestParam String leaveType,
+                                              @RequestParam int days,
+                                              @RequestParam(required = false) String hrMail,
+                                              @RequestParam(required = false) String reason) {
+        if (days <= 0) return ResponseEntity.badRequest().body(" Days must be positive.");
+        switch (leaveLedger.accrue(mail, leaveType, days, hrMail, reason)) {
+            case NOT_FOUND:
+                return ResponseEntity.badRequest().body(" Leave balance not found for " + mail);
+            case INVALID_LEAVE_TYPE:
+                return ResponseEntity.badRequest().body(" Invalid leave type.");
+            default:
+                return ResponseEntity.ok("✅ " + days + " " + leaveType + " days accrued.");
+        }
+    }
+
+    // every change to the balance, oldest first
+    @GetMapping("/ledger")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'HR')")
+    public List<LeaveLedgerEvent> getLedger(@RequestParam String mail) {
+        return leaveLedger.history(mail);
+    }
     @GetMapping("/balance")
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'HR')")
     public ResponseEntity<?> getLeaveBalance(@RequestParam String mail) {
-        LeaveBalance balance = leaveBalanceRepo.findByEmployeeMail(mail);
+        LeaveBalance balance = profileCache.leaveBalance(mail);
         if (balance == null) {
             return ResponseEntity.badRequest().body(" Leave balance not found for " + mail);
         }
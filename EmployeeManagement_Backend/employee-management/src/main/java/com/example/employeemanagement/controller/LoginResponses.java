@@ -0,0 +1,29 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.service.LoginService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.concurrent.CompletionException;
+
+// Maps a failed login to the response both login controllers send.
+final class LoginResponses {
+
+    private LoginResponses() {
+    }
+
+    static ResponseEntity<?> failure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof LoginService.LoginRejectedException rejected) {
+            HttpStatus status = rejected.getReason() == LoginService.LoginRejectedException.Reason.QUEUE_FULL
+                    ? HttpStatus.TOO_MANY_REQUESTS
+                    : HttpStatus.SERVICE_UNAVAILABLE;
+            return ResponseEntity.status(status).header("Retry-After", "1").body("⏳ " + rejected.getMessage());
+        }
+        if (cause instanceof AuthenticationException) {
+            return ResponseEntity.status(401).body("❌ Invalid credentials");
+        }
+        return ResponseEntity.status(500).body("❌ Login failed");
+    }
+}
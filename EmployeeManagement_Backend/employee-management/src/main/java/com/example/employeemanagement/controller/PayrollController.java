@@ -0,0 +1,77 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.model.PayrollRun;
+import com.example.employeemanagement.service.PayrollService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+@RestController
+@RequestMapping("/hr/payroll/runs")
+@PreAuthorize("hasRole('HR')")
+public class PayrollController {
+
+    @Autowired
+    private PayrollService payrollService;
+
+    // runs the month, or resumes it after a crash; a completed run is returned unchanged
+    @PostMapping("/{month}")
+    public ResponseEntity<?> runPayroll(@PathVariable String month) {
+        try {
+            return ResponseEntity.ok(payrollService.run(YearMonth.parse(month)));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("❌ Invalid month format (Expected: yyyy-MM)");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("❌ " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{month}")
+    public ResponseEntity<?> getRun(@PathVariable String month) {
+        try {
+            PayrollRun run = payrollService.find(YearMonth.parse(month));
+            if (run == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(run);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("❌ Invalid month format (Expected: yyyy-MM)");
+        }
+    }
+
+    @GetMapping("/{month}/payslips")
+    public void exportPayslips(@PathVariable String month,
+                               @RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        if (!PayrollService.isSupportedFormat(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported format: " + format);
+            return;
+        }
+        YearMonth period;
+        try {
+            period = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid month format (Expected: yyyy-MM)");
+            return;
+        }
+        PayrollRun run = payrollService.find(period);
+        if (run == null || !PayrollRun.COMPLETED.equals(run.getStatus())) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "No completed payroll run for " + period);
+            return;
+        }
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"payslips-" + period + (csv ? ".csv" : ".ndjson") + "\"");
+        payrollService.export(period, format, new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.employeemanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AttendanceBatchResult {
+    private int requested;
+    private long matched;
+    private long modified;
+    private List<String> rejected = new ArrayList<>();
+
+    public AttendanceBatchResult() {}
+
+    public AttendanceBatchResult(long matched, long modified) {
+        this.matched = matched;
+        this.modified = modified;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+
+    public long getModified() {
+        return modified;
+    }
+
+    public void setModified(long modified) {
+        this.modified = modified;
+    }
+
+    public List<String> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<String> rejected) {
+        this.rejected = rejected;
+    }
+}
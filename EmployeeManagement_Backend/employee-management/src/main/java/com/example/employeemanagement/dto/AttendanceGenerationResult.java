@@ -0,0 +1,41 @@
+package com.example.employeemanagement.dto;
+
+import java.time.LocalDate;
+
+public class AttendanceGenerationResult {
+    private LocalDate date;
+    private int inserted;
+    private int existing;
+
+    public AttendanceGenerationResult() {}
+
+    public AttendanceGenerationResult(LocalDate date, int inserted, int existing) {
+        this.date = date;
+        this.inserted = inserted;
+        this.existing = existing;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public int getExisting() {
+        return existing;
+    }
+
+    public void setExisting(int existing) {
+        this.existing = existing;
+    }
+}
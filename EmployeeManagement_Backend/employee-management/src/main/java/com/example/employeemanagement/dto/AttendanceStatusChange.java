@@ -0,0 +1,31 @@
+package com.example.employeemanagement.dto;
+
+public class AttendanceStatusChange {
+    private String mail;
+    private String date;
+    private String status;
+
+    public String getMail() {
+        return mail;
+    }
+
+    public void setMail(String mail) {
+        this.mail = mail;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.employeemanagement.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class AttendanceSummaryRow {
+    private String group;
+    private String period;
+    private Map<String, Long> counts = new LinkedHashMap<>();
+    private long total;
+
+    public AttendanceSummaryRow() {}
+
+    public AttendanceSummaryRow(String group, String period) {
+        this.group = group;
+        this.period = period;
+    }
+
+    public void add(String status, long count) {
+        counts.merge(status, count, Long::sum);
+        total += count;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Long> counts) {
+        this.counts = counts;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.employeemanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmployeeImportResult {
+    private int rowsRead;
+    private int created;
+    private List<String> rejected = new ArrayList<>();
+
+    public EmployeeImportResult() {}
+
+    public void reject(int line, String mail, String message) {
+        rejected.add("line " + line + (mail != null ? " (" + mail + ")" : "") + ": " + message);
+    }
+
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(int rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public List<String> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<String> rejected) {
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.employeemanagement.dto;
+
+public class EmployeeListItem {
+    private String id;
+    private String name;
+    private String mail;
+    private String role;
+    private String department;
+    private String jobRole;
+    private Double salary;
+
+    public EmployeeListItem() {}
+
+    public EmployeeListItem(String id, String name, String mail, String role, String department, String jobRole, Double salary) {
+        this.id = id;
+        this.name = name;
+        this.mail = mail;
+        this.role = role;
+        this.department = department;
+        this.jobRole = jobRole;
+        this.salary = salary;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getMail() {
+        return mail;
+    }
+
+    public void setMail(String mail) {
+        this.mail = mail;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getJobRole() {
+        return jobRole;
+    }
+
+    public void setJobRole(String jobRole) {
+        this.jobRole = jobRole;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Double salary) {
+        this.salary = salary;
+    }
+}
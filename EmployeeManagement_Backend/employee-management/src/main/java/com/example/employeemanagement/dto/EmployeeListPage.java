@@ -0,0 +1,31 @@
+package com.example.employeemanagement.dto;
+
+import java.util.List;
+
+public class EmployeeListPage {
+    private List<EmployeeListItem> items;
+    private String nextCursor;
+
+    public EmployeeListPage() {}
+
+    public EmployeeListPage(List<EmployeeListItem> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EmployeeListItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EmployeeListItem> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
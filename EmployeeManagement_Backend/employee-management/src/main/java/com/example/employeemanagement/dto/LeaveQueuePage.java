@@ -0,0 +1,33 @@
+package com.example.employeemanagement.dto;
+
+import com.example.employeemanagement.model.LeaveRequest;
+
+import java.util.List;
+
+public class LeaveQueuePage {
+    private List<LeaveRequest> items;
+    private String nextCursor;
+
+    public LeaveQueuePage() {}
+
+    public LeaveQueuePage(List<LeaveRequest> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<LeaveRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<LeaveRequest> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.employeemanagement.dto;
+
+import com.example.employeemanagement.model.LeaveRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TeamAvailability {
+    private String department;
+    private int headcount;
+    private List<Day> days = new ArrayList<>();
+    private List<LeaveRequest> absences = new ArrayList<>();
+
+    public TeamAvailability() {}
+
+    public TeamAvailability(String department, int headcount) {
+        this.department = department;
+        this.headcount = headcount;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(int headcount) {
+        this.headcount = headcount;
+    }
+
+    public List<Day> getDays() {
+        return days;
+    }
+
+    public void setDays(List<Day> days) {
+        this.days = days;
+    }
+
+    public List<LeaveRequest> getAbsences() {
+        return absences;
+    }
+
+    public void setAbsences(List<LeaveRequest> absences) {
+        this.absences = absences;
+    }
+
+    public static class Day {
+        private LocalDate date;
+        private int onLeave;
+        private int available;
+
+        public Day() {}
+
+        public Day(LocalDate date, int onLeave, int available) {
+            this.date = date;
+            this.onLeave = onLeave;
+            this.available = available;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+
+        public int getOnLeave() {
+            return onLeave;
+        }
+
+        public void setOnLeave(int onLeave) {
+            this.onLeave = onLeave;
+        }
+
+        public int getAvailable() {
+            return available;
+        }
+
+        public void setAvailable(int available) {
+            this.available = available;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.employeemanagement.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "admins")
 public class Admin {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String username;
     private String password;
     private String role = "ADMIN";
@@ -1,18 +1,30 @@
 package com.example.employeemanagement.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 @Document(collection = "attendance")
+@CompoundIndex(name = "employeeMail_date", def = "{'employeeMail': 1, 'date': 1}", unique = true)
 public class Attendance {
     @Id
     private String id;
 
     private String employeeMail;
+    @Indexed
     private LocalDate date;
     private String status;
 
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
     public String getEmployeeMail() {
         return employeeMail;
     }
@@ -0,0 +1,94 @@
+package com.example.employeemanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One employee's attendance for one month. {@code days} holds one status code character
+ * per day of the month (index 0 = day 1), '0' meaning no record for that day. A status
+ * outside the fixed list is stored as '*' with the status itself in {@code otherStatuses},
+ * keyed by day of month, so this layout keeps whatever the daily one would.
+ */
+@Document(collection = "attendance_months")
+@CompoundIndex(name = "employeeMail_month", def = "{'employeeMail': 1, 'month': 1}", unique = true)
+public class AttendanceMonth {
+    public static final String EMPTY_DAYS = "0".repeat(31);
+    public static final char NO_RECORD = '0';
+    public static final char OTHER = '*';
+
+    // position + 1 is the stored code
+    private static final List<String> STATUSES = List.of("Absent", "Present", "Late", "Left Early", "On Leave", "Half Day");
+
+    @Id
+    private String id;
+    private String employeeMail;
+    @Indexed
+    private String month; // yyyy-MM
+    private String days = EMPTY_DAYS;
+    private Map<String, String> otherStatuses;
+
+    // OTHER for anything outside the list, whose status then goes in otherStatuses
+    public static char codeOf(String status) {
+        for (int i = 0; i < STATUSES.size(); i++) {
+            if (STATUSES.get(i).equalsIgnoreCase(status)) return (char) ('1' + i);
+        }
+        return OTHER;
+    }
+
+    public static String statusOf(char code) {
+        if (code == NO_RECORD || code == OTHER) return null;
+        return STATUSES.get(code - '1');
+    }
+
+    // the status recorded for a day of this month (1-based), or null
+    public String statusOn(int dayOfMonth) {
+        char code = days != null && days.length() >= dayOfMonth ? days.charAt(dayOfMonth - 1) : NO_RECORD;
+        if (code != OTHER) return statusOf(code);
+        return otherStatuses != null ? otherStatuses.get(String.valueOf(dayOfMonth)) : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEmployeeMail() {
+        return employeeMail;
+    }
+
+    public void setEmployeeMail(String employeeMail) {
+        this.employeeMail = employeeMail;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public String getDays() {
+        return days;
+    }
+
+    public void setDays(String days) {
+        this.days = days;
+    }
+
+    public Map<String, String> getOtherStatuses() {
+        return otherStatuses;
+    }
+
+    public void setOtherStatuses(Map<String, String> otherStatuses) {
+        this.otherStatuses = otherStatuses;
+    }
+}
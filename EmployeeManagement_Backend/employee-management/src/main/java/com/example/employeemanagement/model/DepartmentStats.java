@@ -0,0 +1,86 @@
+package com.example.employeemanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// one materialized rollup per department, maintained by DepartmentStatsService
+@Document(collection = "department_stats")
+public class DepartmentStats {
+    @Id
+    private String department;
+    private long headcount;
+    // employees with a salary on file; the average is taken over these
+    private long salariedCount;
+    private double salaryTotal;
+    private Map<String, Long> genders = new LinkedHashMap<>();
+    private Map<String, Long> ageBands = new LinkedHashMap<>();
+    // when these figures were last recomputed or adjusted by a write
+    private Instant computedAt;
+
+    // derived, never stored
+    @Transient
+    public Double getAverageSalary() {
+        return salariedCount > 0 ? salaryTotal / salariedCount : null;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(long headcount) {
+        this.headcount = headcount;
+    }
+
+    public long getSalariedCount() {
+        return salariedCount;
+    }
+
+    public void setSalariedCount(long salariedCount) {
+        this.salariedCount = salariedCount;
+    }
+
+    public double getSalaryTotal() {
+        return salaryTotal;
+    }
+
+    public void setSalaryTotal(double salaryTotal) {
+        this.salaryTotal = salaryTotal;
+    }
+
+    public Map<String, Long> getGenders() {
+        return genders;
+    }
+
+    public void setGenders(Map<String, Long> genders) {
+        this.genders = genders;
+    }
+
+    public Map<String, Long> getAgeBands() {
+        return ageBands;
+    }
+
+    public void setAgeBands(Map<String, Long> ageBands) {
+        this.ageBands = ageBands;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Instant computedAt) {
+        this.computedAt = computedAt;
+    }
+}
@@ -1,13 +1,28 @@
 package com.example.employeemanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.List;
+
 @Document(collection = "employees")
+@CompoundIndexes({
+        @CompoundIndex(name = "mail_id", def = "{'mail': 1, '_id': 1}"),
+        @CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}"),
+        // team availability: the mails of one department, read from the index alone
+        @CompoundIndex(name = "department_mail", def = "{'department': 1, 'mail': 1}")
+})
 public class Employee {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String mail;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String pass;
     private String role;
 
@@ -17,6 +32,15 @@ public class Employee {
     private Double salary;
     private String name;
 
+    // prefixes of the name/mail/department/jobRole words, filled in by EmployeeSearchTermsListener
+    @JsonIgnore
+    @Indexed
+    private List<String> searchTerms;
+
+    // DOB/gender/mobile/address when employee.profile.storage=embedded; served through ProfileStore
+    @JsonIgnore
+    private EmployeeProfile profile;
+
     public String getName() {
         return name;
     }
@@ -90,4 +114,20 @@ public class Employee {
         this.jobRole = jobRole;
     }
 
+    public List<String> getSearchTerms() {
+        return searchTerms;
+    }
+
+    public void setSearchTerms(List<String> searchTerms) {
+        this.searchTerms = searchTerms;
+    }
+
+    public EmployeeProfile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(EmployeeProfile profile) {
+        this.profile = profile;
+    }
+
 }
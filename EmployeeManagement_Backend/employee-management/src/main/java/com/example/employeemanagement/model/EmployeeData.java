@@ -1,6 +1,7 @@
 package com.example.employeemanagement.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -13,10 +14,12 @@ public class EmployeeData {
     @Id
     private String id;
 
+    @Indexed
     private String empId;
     @Field("dob")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate dob;
+    @Indexed(unique = true, sparse = true)
     private String empMail;
     private String gender;
     private String mobile;
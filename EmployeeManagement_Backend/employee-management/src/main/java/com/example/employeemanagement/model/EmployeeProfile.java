@@ -0,0 +1,81 @@
+package com.example.employeemanagement.model;
+
+import org.springframework.data.mongodb.core.index.Indexed;
+
+import java.time.LocalDate;
+
+/**
+ * The EmployeeData fields as stored inside the Employee document when
+ * {@code employee.profile.storage=embedded}. The API keeps exposing them as EmployeeData.
+ */
+public class EmployeeProfile {
+    @Indexed(sparse = true)
+    private String empId;
+    private LocalDate dob;
+    private String gender;
+    private String mobile;
+    private String address;
+
+    public static EmployeeProfile from(EmployeeData data) {
+        EmployeeProfile profile = new EmployeeProfile();
+        profile.setEmpId(data.getEmpId());
+        profile.setDob(data.getDob());
+        profile.setGender(data.getGender());
+        profile.setMobile(data.getMobile());
+        profile.setAddress(data.getAddress());
+        return profile;
+    }
+
+    // the API view; an embedded profile has no id of its own and answers to its employee's
+    public EmployeeData toEmployeeData(Employee owner) {
+        EmployeeData data = new EmployeeData();
+        data.setId(owner.getId());
+        data.setEmpMail(owner.getMail());
+        data.setEmpId(empId);
+        data.setDob(dob);
+        data.setGender(gender);
+        data.setMobile(mobile);
+        data.setAddress(address);
+        return data;
+    }
+
+    public String getEmpId() {
+        return empId;
+    }
+
+    public void setEmpId(String empId) {
+        this.empId = empId;
+    }
+
+    public LocalDate getDob() {
+        return dob;
+    }
+
+    public void setDob(LocalDate dob) {
+        this.dob = dob;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public String getMobile() {
+        return mobile;
+    }
+
+    public void setMobile(String mobile) {
+        this.mobile = mobile;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+}
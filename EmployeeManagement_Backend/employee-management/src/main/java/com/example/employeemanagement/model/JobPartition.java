@@ -0,0 +1,150 @@
+package com.example.employeemanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The employees with {@code lowerId <= _id < upperId} (null: unbounded) of one {@link JobRun}.
+ * A node claims it with a lease it renews while working; a claim whose lease ran out (the
+ * node died) is claimed again by another node.
+ */
+@Document(collection = "job_partitions")
+@CompoundIndex(name = "runId_status_index", def = "{'runId': 1, 'status': 1, 'index': 1}")
+public class JobPartition {
+    public static final String PENDING = "Pending";
+    public static final String CLAIMED = "Claimed";
+    public static final String DONE = "Done";
+    public static final String FAILED = "Failed";
+
+    @Id
+    private String id; // runId#index
+    private String runId;
+    private int index;
+    private String lowerId;
+    private String upperId;
+    private String status;
+    private String owner;
+    // changes with every claim, so a node that lost its lease cannot finish the partition
+    private String claim;
+    private Instant leaseExpiresAt;
+    private int attempts;
+    private long rows;
+    private Instant startedAt;
+    private Instant completedAt;
+    private String error;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getLowerId() {
+        return lowerId;
+    }
+
+    public void setLowerId(String lowerId) {
+        this.lowerId = lowerId;
+    }
+
+    public String getUpperId() {
+        return upperId;
+    }
+
+    public void setUpperId(String upperId) {
+        this.upperId = upperId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getClaim() {
+        return claim;
+    }
+
+    public void setClaim(String claim) {
+        this.claim = claim;
+    }
+
+    public Instant getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
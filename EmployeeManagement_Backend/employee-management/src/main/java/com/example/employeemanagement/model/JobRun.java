@@ -0,0 +1,124 @@
+package com.example.employeemanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One run of a clustered job ({@code id} is job:runKey, e.g. attendance-daily:2025-06-12).
+ * The employee {@code _id}s in {@code boundaries} split the run into {@code partitions}
+ * ranges, each tracked as a {@link JobPartition}; the totals are filled in on completion.
+ */
+@Document(collection = "job_runs")
+@CompoundIndex(name = "status_job", def = "{'status': 1, 'job': 1}")
+public class JobRun {
+    public static final String RUNNING = "Running";
+    public static final String COMPLETED = "Completed";
+    public static final String FAILED = "Failed";
+
+    @Id
+    private String id;
+    private String job;
+    private String runKey;
+    private String status;
+    // the node elected to plan the run
+    private String coordinator;
+    private List<String> boundaries;
+    private int partitions;
+    private long rows;
+    // partitions given up on after too many attempts
+    private int failures;
+    private Instant startedAt;
+    private Instant completedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getJob() {
+        return job;
+    }
+
+    public void setJob(String job) {
+        this.job = job;
+    }
+
+    public String getRunKey() {
+        return runKey;
+    }
+
+    public void setRunKey(String runKey) {
+        this.runKey = runKey;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCoordinator() {
+        return coordinator;
+    }
+
+    public void setCoordinator(String coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    public List<String> getBoundaries() {
+        return boundaries;
+    }
+
+    public void setBoundaries(List<String> boundaries) {
+        this.boundaries = boundaries;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    public void setFailures(int failures) {
+        this.failures = failures;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -1,10 +1,36 @@
 package com.example.employeemanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "leave_balances")
 public class LeaveBalance {
+
+    // the allowance every new employee starts with; it is the ledger's opening snapshot
+    public static LeaveBalance opening(String employeeMail) {
+        LeaveBalance balance = new LeaveBalance();
+        balance.setEmployeeMail(employeeMail);
+        balance.setAnnualLeave(15);
+        balance.setSickLeave(8);
+        balance.setPersonalLeave(3);
+        balance.setEmergencyLeave(2);
+        return balance;
+    }
+
+    // stored field holding the days left for a LeaveRequest leaveType, or null if the type is unknown
+    public static String fieldFor(String leaveType) {
+        if (leaveType == null) return null;
+        return switch (leaveType) {
+            case "Annual" -> "annualLeave";
+            case "Sick" -> "sickLeave";
+            case "Personal" -> "personalLeave";
+            case "Emergency" -> "emergencyLeave";
+            default -> null;
+        };
+    }
+
     public String getId() {
         return id;
     }
@@ -55,10 +81,22 @@ public class LeaveBalance {
 
     @Id
     private String id;
+    @Indexed(unique = true)
     private String employeeMail;
     private int annualLeave;
     private int sickLeave;
     private int personalLeave;
     private int emergencyLeave;
+    // last leave_ledger seq folded into this document; the stored fields are a snapshot
+    @JsonIgnore
+    private long ledgerSeq;
+
+    public long getLedgerSeq() {
+        return ledgerSeq;
+    }
+
+    public void setLedgerSeq(long ledgerSeq) {
+        this.ledgerSeq = ledgerSeq;
+    }
 
 }
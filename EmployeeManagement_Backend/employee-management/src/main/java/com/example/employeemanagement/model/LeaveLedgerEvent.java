@@ -0,0 +1,131 @@
+package com.example.employeemanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One append-only change to an employee's leave balance. The per-field values are deltas;
+ * {@code seq} numbers an employee's events 1, 2, 3... and is unique per employee, which is
+ * what serializes concurrent appends.
+ */
+@Document(collection = "leave_ledger")
+@CompoundIndex(name = "employeeMail_seq", def = "{'employeeMail': 1, 'seq': 1}", unique = true)
+public class LeaveLedgerEvent {
+    public static final String ACCRUAL = "ACCRUAL";
+    public static final String DEDUCTION = "DEDUCTION";
+    public static final String ADJUSTMENT = "ADJUSTMENT";
+
+    @Id
+    private String id;
+    private String employeeMail;
+    private long seq;
+    private String type;
+    private int annualLeave;
+    private int sickLeave;
+    private int personalLeave;
+    private int emergencyLeave;
+    // the leave request a deduction is for
+    private String reference;
+    private String actor;
+    private String reason;
+    private Instant createdAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEmployeeMail() {
+        return employeeMail;
+    }
+
+    public void setEmployeeMail(String employeeMail) {
+        this.employeeMail = employeeMail;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getAnnualLeave() {
+        return annualLeave;
+    }
+
+    public void setAnnualLeave(int annualLeave) {
+        this.annualLeave = annualLeave;
+    }
+
+    public int getSickLeave() {
+        return sickLeave;
+    }
+
+    public void setSickLeave(int sickLeave) {
+        this.sickLeave = sickLeave;
+    }
+
+    public int getPersonalLeave() {
+        return personalLeave;
+    }
+
+    public void setPersonalLeave(int personalLeave) {
+        this.personalLeave = personalLeave;
+    }
+
+    public int getEmergencyLeave() {
+        return emergencyLeave;
+    }
+
+    public void setEmergencyLeave(int emergencyLeave) {
+        this.emergencyLeave = emergencyLeave;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
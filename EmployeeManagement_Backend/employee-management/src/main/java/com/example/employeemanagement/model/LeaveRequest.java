@@ -1,12 +1,29 @@
 package com.example.employeemanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Document(collection = "leave_requests")
+@CompoundIndexes({
+        // HR queue: status filter, keyset-paged by (startDate, _id); also serves the pending count
+        @CompoundIndex(name = "status_startDate_id", def = "{'status': 1, 'startDate': 1, '_id': 1}"),
+        // per-employee lists and the queue's employee filter
+        @CompoundIndex(name = "employeeMail_startDate_id", def = "{'employeeMail': 1, 'startDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "startDate_id", def = "{'startDate': 1, '_id': 1}"),
+        // interval lookups: "who is out during [a, b]" and per-employee overlap checks
+        @CompoundIndex(name = "leaveWeeks_status", def = "{'leaveWeeks': 1, 'status': 1}"),
+        @CompoundIndex(name = "employeeMail_leaveWeeks", def = "{'employeeMail': 1, 'leaveWeeks': 1}")
+})
 public class LeaveRequest {
+    // taken without an allowance; the payroll run deducts these days from pay
+    public static final String UNPAID = "Unpaid";
+
     @Id
     private String id;
     private String employeeMail;
@@ -19,6 +36,10 @@ public class LeaveRequest {
     private String reviewedBy;
     private String decisionReason;
 
+    // weeks touched by [startDate, endDate], filled in by LeaveWeeksListener
+    @JsonIgnore
+    private List<Long> leaveWeeks;
+
     public String getId() {
         return id;
     }
@@ -115,6 +136,14 @@ public class LeaveRequest {
         this.workHandoverDetails = workHandoverDetails;
     }
 
+    public List<Long> getLeaveWeeks() {
+        return leaveWeeks;
+    }
+
+    public void setLeaveWeeks(List<Long> leaveWeeks) {
+        this.leaveWeeks = leaveWeeks;
+    }
+
     private LocalDate decisionDate;
     private String workHandoverDetails;
 
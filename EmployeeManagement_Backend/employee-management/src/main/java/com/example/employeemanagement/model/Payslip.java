@@ -0,0 +1,131 @@
+package com.example.employeemanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// one employee's pay for one payroll run; written by PayrollService
+@Document(collection = "payslips")
+// one payslip per employee per run; also the export order
+@CompoundIndex(name = "runId_employeeMail", def = "{'runId': 1, 'employeeMail': 1}", unique = true)
+public class Payslip {
+    @Id
+    private String id;
+    private String runId; // yyyy-MM
+    private String employeeMail;
+    private String name;
+    private String department;
+    private double baseSalary;
+    private int workingDays;
+    // working days marked Absent / Half Day that no approved leave covers
+    private int absentDays;
+    private int halfDays;
+    private int unpaidLeaveDays;
+    private double unpaidDays;
+    private double deduction;
+    private double netPay;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getEmployeeMail() {
+        return employeeMail;
+    }
+
+    public void setEmployeeMail(String employeeMail) {
+        this.employeeMail = employeeMail;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public double getBaseSalary() {
+        return baseSalary;
+    }
+
+    public void setBaseSalary(double baseSalary) {
+        this.baseSalary = baseSalary;
+    }
+
+    public int getWorkingDays() {
+        return workingDays;
+    }
+
+    public void setWorkingDays(int workingDays) {
+        this.workingDays = workingDays;
+    }
+
+    public int getAbsentDays() {
+        return absentDays;
+    }
+
+    public void setAbsentDays(int absentDays) {
+        this.absentDays = absentDays;
+    }
+
+    public int getHalfDays() {
+        return halfDays;
+    }
+
+    public void setHalfDays(int halfDays) {
+        this.halfDays = halfDays;
+    }
+
+    public int getUnpaidLeaveDays() {
+        return unpaidLeaveDays;
+    }
+
+    public void setUnpaidLeaveDays(int unpaidLeaveDays) {
+        this.unpaidLeaveDays = unpaidLeaveDays;
+    }
+
+    public double getUnpaidDays() {
+        return unpaidDays;
+    }
+
+    public void setUnpaidDays(double unpaidDays) {
+        this.unpaidDays = unpaidDays;
+    }
+
+    public double getDeduction() {
+        return deduction;
+    }
+
+    public void setDeduction(double deduction) {
+        this.deduction = deduction;
+    }
+
+    public double getNetPay() {
+        return netPay;
+    }
+
+    public void setNetPay(double netPay) {
+        this.netPay = netPay;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.AttendanceBatchResult;
+import com.example.employeemanagement.dto.AttendanceGenerationResult;
+import com.example.employeemanagement.model.Attendance;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage-layout independent access to attendance. The query methods keep the
+ * contracts of {@link AttendanceRepository}; pick the layout with {@code attendance.storage}
+ * ({@code daily}: one document per day, {@code monthly}: one document per employee per month).
+ */
+public interface AttendanceStore {
+    List<Attendance> findByDate(LocalDate date);
+
+    List<Attendance> findByEmployeeMailAndDateBetween(String mail, LocalDate start, LocalDate end);
+
+    Optional<Attendance> findByEmployeeMailAndDate(String mail, LocalDate date);
+
+    List<Attendance> findByDateBetween(LocalDate start, LocalDate end);
+
+    Attendance save(Attendance attendance);
+
+    // Sets the status of an existing row in one find-and-modify; empty if there is no row.
+    Optional<Attendance> updateStatus(String mail, LocalDate date, String status);
+
+    // Applies each (employeeMail, date, status) to existing rows as one unordered bulk write.
+    AttendanceBatchResult updateStatuses(List<Attendance> changes);
+
+    // Rows of all these employees in [start, end], inclusive, as one query.
+    List<Attendance> findByEmployeeMailInAndDateRange(Collection<String> mails, LocalDate start, LocalDate end);
+
+    // Inclusive of both ends; the caller must close the stream.
+    Stream<Attendance> streamByDateRange(LocalDate start, LocalDate end);
+
+    // Creates an "Absent" row for each mail that has none on that date, as one bulk write.
+    AttendanceGenerationResult insertAbsent(List<String> mails, LocalDate date);
+}
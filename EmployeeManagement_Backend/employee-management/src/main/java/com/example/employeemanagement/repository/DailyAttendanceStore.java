@@ -0,0 +1,129 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.AttendanceBatchResult;
+import com.example.employeemanagement.dto.AttendanceGenerationResult;
+import com.example.employeemanagement.model.Attendance;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * One {@link Attendance} document per employee per day (the original layout).
+ */
+@Repository
+@ConditionalOnProperty(name = "attendance.storage", havingValue = "daily", matchIfMissing = true)
+public class DailyAttendanceStore implements AttendanceStore {
+
+    static final int DUPLICATE_KEY = 11000;
+    private static final int CURSOR_BATCH_SIZE = 1000;
+
+    @Autowired
+    private AttendanceRepository attendanceRepo;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Attendance> findByDate(LocalDate date) {
+        return attendanceRepo.findByDate(date);
+    }
+
+    @Override
+    public List<Attendance> findByEmployeeMailAndDateBetween(String mail, LocalDate start, LocalDate end) {
+        return attendanceRepo.findByEmployeeMailAndDateBetween(mail, start, end);
+    }
+
+    @Override
+    public Optional<Attendance> findByEmployeeMailAndDate(String mail, LocalDate date) {
+        return attendanceRepo.findByEmployeeMailAndDate(mail, date);
+    }
+
+    @Override
+    public List<Attendance> findByDateBetween(LocalDate start, LocalDate end) {
+        return attendanceRepo.findByDateBetween(start, end);
+    }
+
+    @Override
+    public Attendance save(Attendance attendance) {
+        return attendanceRepo.save(attendance);
+    }
+
+    @Override
+    public Optional<Attendance> updateStatus(String mail, LocalDate date, String status) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                rowOf(mail, date),
+                new Update().set("status", status),
+                FindAndModifyOptions.options().returnNew(true),
+                Attendance.class));
+    }
+
+    @Override
+    public AttendanceBatchResult updateStatuses(List<Attendance> changes) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attendance.class);
+        for (Attendance change : changes) {
+            ops.updateOne(rowOf(change.getEmployeeMail(), change.getDate()), new Update().set("status", change.getStatus()));
+        }
+        BulkWriteResult result = ops.execute();
+        return new AttendanceBatchResult(result.getMatchedCount(), result.getModifiedCount());
+    }
+
+    @Override
+    public List<Attendance> findByEmployeeMailInAndDateRange(Collection<String> mails, LocalDate start, LocalDate end) {
+        // served by the employeeMail_date index
+        Query query = new Query(Criteria.where("employeeMail").in(mails).and("date").gte(start).lte(end));
+        query.fields().include("employeeMail", "date", "status");
+        return mongoTemplate.find(query, Attendance.class);
+    }
+
+    @Override
+    public Stream<Attendance> streamByDateRange(LocalDate start, LocalDate end) {
+        Query query = new Query(Criteria.where("date").gte(start).lte(end)).cursorBatchSize(CURSOR_BATCH_SIZE);
+        return mongoTemplate.stream(query, Attendance.class);
+    }
+
+    @Override
+    public AttendanceGenerationResult insertAbsent(List<String> mails, LocalDate date) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attendance.class);
+        for (String mail : mails) {
+            ops.upsert(rowOf(mail, date), new Update().setOnInsert("status", "Absent"));
+        }
+
+        try {
+            BulkWriteResult result = ops.execute();
+            return new AttendanceGenerationResult(date, result.getUpserts().size(), result.getMatchedCount());
+        } catch (BulkOperationException e) {
+            // A concurrent run inserted the same (employeeMail, date) first; the unique index rejected ours.
+            int duplicates = countDuplicates(e);
+            BulkWriteResult result = e.getResult();
+            return new AttendanceGenerationResult(date, result.getUpserts().size(), result.getMatchedCount() + duplicates);
+        }
+    }
+
+    private static Query rowOf(String mail, LocalDate date) {
+        return new Query(Criteria.where("employeeMail").is(mail).and("date").is(date));
+    }
+
+    static int countDuplicates(BulkOperationException e) {
+        int duplicates = 0;
+        for (BulkWriteError error : e.getErrors()) {
+            if (error.getCode() != DUPLICATE_KEY) throw e;
+            duplicates++;
+        }
+        return duplicates;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.model.EmployeeProfile;
+import com.example.employeemanagement.service.DepartmentStatsService;
+import com.example.employeemanagement.service.ProfileCache;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Profiles embedded in the employee document, so a profile read is the employee read.
+ * Writes are targeted {@code $set}/{@code $unset} updates of {@code profile}.
+ *
+ * <p>Until {@code EmployeeProfileMigrationService} has copied an employee's old employee_data
+ * row across, reads fall back to that row, so the layout can be switched before the
+ * migration runs. Nothing is written to employee_data in this mode.
+ */
+@Repository
+@ConditionalOnProperty(name = "employee.profile.storage", havingValue = "embedded")
+public class EmbeddedProfileStore implements ProfileStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final EmployeeDataRepository legacyRepo;
+    // lazily: ProfileCache reads through this store
+    private final ObjectProvider<ProfileCache> profileCache;
+    private final DepartmentStatsService departmentStats;
+
+    public EmbeddedProfileStore(MongoTemplate mongoTemplate, EmployeeDataRepository legacyRepo,
+                                ObjectProvider<ProfileCache> profileCache, DepartmentStatsService departmentStats) {
+        this.mongoTemplate = mongoTemplate;
+        this.legacyRepo = legacyRepo;
+        this.profileCache = profileCache;
+        this.departmentStats = departmentStats;
+    }
+
+    @Override
+    public boolean embedded() {
+        return true;
+    }
+
+    @Override
+    public EmployeeData findByMail(String mail) {
+        Employee owner = findOwner(new Query(where("mail").is(mail)));
+        if (owner != null && owner.getProfile() != null) return owner.getProfile().toEmployeeData(owner);
+        return legacyRepo.findByEmpMail(mail);
+    }
+
+    @Override
+    public List<EmployeeData> findByEmpId(String empId) {
+        Query query = new Query(where("profile.empId").is(empId));
+        query.fields().include("mail", "profile");
+        List<EmployeeData> result = new ArrayList<>();
+        for (Employee owner : mongoTemplate.find(query, Employee.class)) {
+            result.add(owner.getProfile().toEmployeeData(owner));
+        }
+        return result.isEmpty() ? legacyRepo.findByEmpId(empId) : result;
+    }
+
+    @Override
+    public Optional<EmployeeData> findById(String id) {
+        Employee owner = findOwner(new Query(where("_id").is(id)));
+        if (owner != null && owner.getProfile() != null) return Optional.of(owner.getProfile().toEmployeeData(owner));
+        return legacyRepo.findById(id);
+    }
+
+    @Override
+    public EmployeeData save(EmployeeData data) {
+        if (data.getEmpMail() == null) throw new IllegalArgumentException("empMail is required");
+        Employee owner = mongoTemplate.findAndModify(
+                new Query(where("mail").is(data.getEmpMail())),
+                new Update().set("profile", EmployeeProfile.from(data)),
+                Employee.class);
+        if (owner == null) throw new IllegalArgumentException("No employee found with mail: " + data.getEmpMail());
+        departmentStats.profileChanged(owner, countedProfile(owner), data);
+        evict(owner);
+        return EmployeeProfile.from(data).toEmployeeData(owner);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        Employee owner = mongoTemplate.findAndModify(
+                new Query(where("_id").is(id)), new Update().unset("profile"), Employee.class);
+        if (owner != null) {
+            departmentStats.profileChanged(owner, countedProfile(owner), null);
+            // or the fallback read, and the migration, would bring the old row back; a raw delete,
+            // since evict() below already covers what a non-id delete event would flush wholesale
+            mongoTemplate.getCollection("employee_data").deleteMany(new Document("empMail", owner.getMail()));
+            evict(owner);
+        } else {
+            legacyRepo.deleteById(id);
+        }
+    }
+
+    private Employee findOwner(Query query) {
+        query.fields().include("mail", "profile");
+        return mongoTemplate.findOne(query, Employee.class);
+    }
+
+    // the profile the department rollup counted for owner before the write
+    private EmployeeData countedProfile(Employee owner) {
+        if (owner.getProfile() != null) return owner.getProfile().toEmployeeData(owner);
+        return legacyRepo.findByEmpMail(owner.getMail());
+    }
+
+    // targeted updates publish no mapping events, so do what the listeners would
+    private void evict(Employee owner) {
+        ProfileCache cache = profileCache.getIfAvailable();
+        if (cache == null) return;
+        cache.evictEmployee(owner.getId(), owner.getMail());
+        cache.evictEmployeeData(owner.getId(), owner.getMail());
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.employeemanagement.repository;
 
 
+import com.example.employeemanagement.config.MongoIndexInitializer;
 import com.example.employeemanagement.model.EmployeeData;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 
@@ -10,5 +12,6 @@ import java.util.List;
 public interface EmployeeDataRepository extends MongoRepository<EmployeeData, String> {
     List<EmployeeData> findByEmpId(String empId);
     EmployeeData findByEmpMail(String mail);
+    @Query(value = "{ 'gender' : ?0 }", collation = MongoIndexInitializer.CASE_INSENSITIVE)
     List<EmployeeData> findByGenderIgnoreCase(String gender);
 }
@@ -1,13 +1,17 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.config.MongoIndexInitializer;
 import com.example.employeemanagement.model.Employee;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends MongoRepository<Employee, String> {
     Optional<Employee> findByMail(String mail);
+    // equality under a strength-2 collation so the role_ci index serves it
+    @Query(value = "{ 'role' : ?0 }", collation = MongoIndexInitializer.CASE_INSENSITIVE)
     List<Employee> findByRoleIgnoreCase(String role);
 
 }
@@ -0,0 +1,15 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.Holiday;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HolidayRepository extends MongoRepository<Holiday, String> {
+    @Query(value = "{ 'calendar' : ?0, 'date' : { '$gte' : ?1, '$lte' : ?2 } }", sort = "{ 'date' : 1 }")
+    List<Holiday> findInRange(String calendar, LocalDate from, LocalDate to);
+
+    boolean existsByCalendarAndDate(String calendar, LocalDate date);
+}
@@ -0,0 +1,27 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.EmployeeData;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage-layout independent access to employee profiles (DOB, gender, mobile, address).
+ * Pick the layout with {@code employee.profile.storage} ({@code separate}: the employee_data
+ * collection joined on mail, {@code embedded}: a {@code profile} sub-document of the employee).
+ */
+public interface ProfileStore {
+    boolean embedded();
+
+    // null when the employee has no profile
+    EmployeeData findByMail(String mail);
+
+    List<EmployeeData> findByEmpId(String empId);
+
+    Optional<EmployeeData> findById(String id);
+
+    // Creates or replaces the profile of data.getEmpMail(); IllegalArgumentException if it can't be stored.
+    EmployeeData save(EmployeeData data);
+
+    void deleteById(String id);
+}
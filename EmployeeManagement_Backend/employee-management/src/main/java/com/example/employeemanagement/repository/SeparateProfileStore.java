@@ -0,0 +1,51 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.EmployeeData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Profiles in their own employee_data collection, linked to the employee by
+ * {@code empMail}. Cache eviction comes from the repository's mapping events.
+ */
+@Repository
+@ConditionalOnProperty(name = "employee.profile.storage", havingValue = "separate", matchIfMissing = true)
+public class SeparateProfileStore implements ProfileStore {
+
+    @Autowired
+    private EmployeeDataRepository dataRepo;
+
+    @Override
+    public boolean embedded() {
+        return false;
+    }
+
+    @Override
+    public EmployeeData findByMail(String mail) {
+        return dataRepo.findByEmpMail(mail);
+    }
+
+    @Override
+    public List<EmployeeData> findByEmpId(String empId) {
+        return dataRepo.findByEmpId(empId);
+    }
+
+    @Override
+    public Optional<EmployeeData> findById(String id) {
+        return dataRepo.findById(id);
+    }
+
+    @Override
+    public EmployeeData save(EmployeeData data) {
+        return dataRepo.save(data);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        dataRepo.deleteById(id);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.employeemanagement.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -7,16 +10,47 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
     private final SecretKey secretKey;
+    private final JwtParser parser;
     private static final long EXPIRATION_TIME = 1000 * 60 * 60; // 1 hour
 
-    public JwtUtil(@Value("${jwt.secret}") String secret) {
+    // SHA-256 of the token -> its verified claims, dropped when the token expires
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize) {
         this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.getExpiresAt() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String username, String role) {
@@ -33,28 +67,80 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its subject and role, or empty if it is malformed,
+     * wrongly signed or expired. Tokens seen before are answered from the cache without
+     * touching the signature; only successfully verified tokens are cached.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) return Optional.empty();
+        String key = digest(token);
+
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached.getExpiresAt() > System.currentTimeMillis() ? Optional.of(cached) : Optional.empty();
+        }
+
+        VerifiedToken parsed = parse(token);
+        if (parsed == null) return Optional.empty();
+        verified.put(key, parsed);
+        return Optional.of(parsed);
+    }
+
     public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+        return verify(token).map(VerifiedToken::getUsername).orElse(null);
     }
 
     public String extractRole(String token) {
-        return getClaims(token).get("role", String.class);
+        return verify(token).map(VerifiedToken::getRole).orElse(null);
     }
 
     public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
+    // the uncached path: one signature check and one claims parse
+    VerifiedToken parse(String token) {
         try {
-            Claims claims = getClaims(token);
-            return !claims.getExpiration().before(new Date());
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            if (expiration == null || expiration.before(new Date())) return null;
+            return new VerifiedToken(claims.getSubject(), claims.get("role", String.class), expiration.getTime());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
         }
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public static final class VerifiedToken {
+        private final String username;
+        private final String role;
+        private final long expiresAt;
+
+        VerifiedToken(String username, String role, long expiresAt) {
+            this.username = username;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
     }
 }
@@ -1,33 +1,17 @@
 package com.example.employeemanagement.service;
 
-import com.example.employeemanagement.model.Admin;
-import com.example.employeemanagement.model.Employee;
-import com.example.employeemanagement.repository.AdminRepository;
-import com.example.employeemanagement.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.*;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.List;
-
 @Service
 public class AdminDetailsService implements UserDetailsService {
 
     @Autowired
-    private AdminRepository adminRepository;
+    private PrincipalService principalService;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Admin admin = adminRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Admin not found"));
-
-        return new org.springframework.security.core.userdetails.User(
-                admin.getUsername(),
-                admin.getPassword(),
-                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))
-        );
+        return principalService.loadUserDetails(PrincipalService.Realm.ADMIN, username);
     }
 }
-
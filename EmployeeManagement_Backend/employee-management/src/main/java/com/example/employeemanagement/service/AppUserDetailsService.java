@@ -1,31 +1,17 @@
 package com.example.employeemanagement.service;
 
-import com.example.employeemanagement.model.Employee;
-import com.example.employeemanagement.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.*;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.List;
-
-
 @Service
 public class AppUserDetailsService implements UserDetailsService {
 
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private PrincipalService principalService;
 
     @Override
     public UserDetails loadUserByUsername(String mail) throws UsernameNotFoundException {
-        Employee user = employeeRepository.findByMail(mail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getMail(),
-                user.getPass(),
-                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
-        );
+        return principalService.loadUserDetails(PrincipalService.Realm.APP, mail);
     }
 }
@@ -0,0 +1,79 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Attendance;
+import com.example.employeemanagement.repository.AttendanceStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Streams attendance rows from the store's Mongo cursor straight to a writer, one row at a time,
+ * so exporting a multi-year range needs no more heap than a single cursor batch. A range export
+ * leaves out both end dates, like {@code GET /attendance/range} ({@code findByDateBetween}), so
+ * switching a client from the list to the export returns the same rows.
+ */
+@Service
+public class AttendanceExportService {
+
+    @Autowired
+    private AttendanceStore attendanceStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public static boolean isSupportedFormat(String format) {
+        return "ndjson".equalsIgnoreCase(format) || "csv".equalsIgnoreCase(format);
+    }
+
+    // the days strictly between start and end
+    public void exportRange(LocalDate start, LocalDate end, String format, Writer out) throws IOException {
+        export(start.plusDays(1), end.minusDays(1), format, out);
+    }
+
+    public void exportDay(LocalDate date, String format, Writer out) throws IOException {
+        export(date, date, format, out);
+    }
+
+    private void export(LocalDate start, LocalDate end, String format, Writer out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (csv) out.write("employeeMail,date,status\n");
+        if (start.isAfter(end)) {
+            out.flush();
+            return;
+        }
+
+        try (Stream<Attendance> rows = attendanceStore.streamByDateRange(start, end)) {
+            rows.forEach(att -> {
+                try {
+                    if (csv) {
+                        out.write(csvField(att.getEmployeeMail()));
+                        out.write(',');
+                        out.write(att.getDate() != null ? att.getDate().toString() : "");
+                        out.write(',');
+                        out.write(csvField(att.getStatus()));
+                    } else {
+                        out.write(objectMapper.writeValueAsString(att));
+                    }
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
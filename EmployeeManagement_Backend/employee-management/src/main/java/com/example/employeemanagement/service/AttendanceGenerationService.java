@@ -0,0 +1,93 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.MongoIndexInitializer;
+import com.example.employeemanagement.dto.AttendanceGenerationResult;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.AttendanceStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the day's default "Absent" attendance rows for every EMPLOYEE, on working days only.
+ * Mails are handed to the {@link AttendanceStore} in chunks, each written as one unordered
+ * bulk upsert, so a run costs one round trip per chunk and running it twice (cron + manual
+ * endpoint) is harmless. The nightly run goes through {@link DailyAttendanceJob}, which splits
+ * the employees into {@code _id} ranges that several nodes work on.
+ */
+@Service
+public class AttendanceGenerationService {
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceGenerationService.class);
+
+    static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AttendanceStore attendanceStore;
+
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
+
+    public AttendanceGenerationResult generateFor(LocalDate date) {
+        return generateFor(date, null, null, () -> { });
+    }
+
+    // the employees with lowerId <= _id < upperId (null: unbounded); afterChunk runs after each bulk write
+    public AttendanceGenerationResult generateFor(LocalDate date, String lowerId, String upperId, Runnable afterChunk) {
+        // weekends and holidays get no default rows, so they never count as absences
+        if (!workingDayCalendar.isWorkingDay(date)) {
+            logger.info("Attendance for {}: not a working day, nothing generated", date);
+            return new AttendanceGenerationResult(date, 0, 0);
+        }
+
+        Criteria criteria = Criteria.where("role").is("EMPLOYEE");
+        if (lowerId != null || upperId != null) {
+            Criteria id = criteria.and("_id");
+            if (lowerId != null) id.gte(lowerId);
+            if (upperId != null) id.lt(upperId);
+        }
+        Query employees = new Query(criteria)
+                .collation(Collation.parse(MongoIndexInitializer.CASE_INSENSITIVE));
+        employees.fields().include("mail");
+
+        int inserted = 0;
+        int existing = 0;
+        try (Stream<Employee> stream = mongoTemplate.stream(employees, Employee.class)) {
+            Iterator<Employee> it = stream.iterator();
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (it.hasNext()) {
+                String mail = it.next().getMail();
+                if (mail == null) continue;
+                chunk.add(mail);
+                if (chunk.size() == CHUNK_SIZE) {
+                    AttendanceGenerationResult counts = attendanceStore.insertAbsent(chunk, date);
+                    inserted += counts.getInserted();
+                    existing += counts.getExisting();
+                    chunk.clear();
+                    afterChunk.run();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                AttendanceGenerationResult counts = attendanceStore.insertAbsent(chunk, date);
+                inserted += counts.getInserted();
+                existing += counts.getExisting();
+            }
+        }
+
+        logger.info("Attendance for {}: {} inserted, {} already present", date, inserted, existing);
+        return new AttendanceGenerationResult(date, inserted, existing);
+    }
+}
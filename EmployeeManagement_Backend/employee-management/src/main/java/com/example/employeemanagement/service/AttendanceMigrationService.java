@@ -0,0 +1,135 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Attendance;
+import com.example.employeemanagement.model.AttendanceMonth;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Converts the one-document-per-day {@code attendance} collection into packed
+ * {@code attendance_months} documents. Run it before switching {@code attendance.storage}
+ * to {@code monthly}; it rebuilds every month from the daily rows, so re-running is safe.
+ * Statuses outside the packed codes go to the month's overflow map. Only rows without a mail
+ * or a date are skipped, and each one is reported by id.
+ */
+@Service
+public class AttendanceMigrationService {
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceMigrationService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public MigrationResult migrateDailyToMonthly() {
+        // sorted on the (employeeMail, date) unique index so each month arrives contiguously
+        Query query = new Query().with(Sort.by("employeeMail", "date")).cursorBatchSize(1000);
+
+        MigrationResult result = new MigrationResult();
+        BulkOperations ops = null;
+        int pending = 0;
+
+        String mail = null;
+        YearMonth month = null;
+        char[] days = null;
+        Map<String, String> others = null;
+
+        try (Stream<Attendance> rows = mongoTemplate.stream(query, Attendance.class)) {
+            Iterator<Attendance> it = rows.iterator();
+            while (it.hasNext()) {
+                Attendance att = it.next();
+                result.rowsRead++;
+                if (att.getEmployeeMail() == null || att.getDate() == null) {
+                    result.skip(att, att.getEmployeeMail() == null ? "no employeeMail" : "no date");
+                    continue;
+                }
+
+                YearMonth rowMonth = YearMonth.from(att.getDate());
+                if (!att.getEmployeeMail().equals(mail) || !rowMonth.equals(month)) {
+                    if (days != null) {
+                        if (ops == null) ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AttendanceMonth.class);
+                        addMonth(ops, mail, month, days, others);
+                        result.monthsWritten++;
+                        if (++pending == BATCH_SIZE) {
+                            ops.execute();
+                            ops = null;
+                            pending = 0;
+                        }
+                    }
+                    mail = att.getEmployeeMail();
+                    month = rowMonth;
+                    days = AttendanceMonth.EMPTY_DAYS.toCharArray();
+                    others = new HashMap<>();
+                }
+                int day = att.getDate().getDayOfMonth();
+                char code = AttendanceMonth.codeOf(att.getStatus());
+                days[day - 1] = code;
+                if (code == AttendanceMonth.OTHER) others.put(String.valueOf(day), att.getStatus());
+                else others.remove(String.valueOf(day));
+            }
+        }
+
+        if (days != null) {
+            if (ops == null) ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AttendanceMonth.class);
+            addMonth(ops, mail, month, days, others);
+            result.monthsWritten++;
+        }
+        if (ops != null) ops.execute();
+
+        logger.info("Attendance migration: {} rows read, {} skipped, {} months written",
+                result.rowsRead, result.skippedRows.size(), result.monthsWritten);
+        if (!result.skippedRows.isEmpty()) logger.warn("Attendance rows not migrated: {}", result.skippedRows);
+        return result;
+    }
+
+    private static void addMonth(BulkOperations ops, String mail, YearMonth month, char[] days,
+                                 Map<String, String> others) {
+        Update update = new Update().set("days", new String(days));
+        if (others.isEmpty()) update.unset("otherStatuses");
+        else update.set("otherStatuses", others);
+        ops.upsert(new Query(Criteria.where("employeeMail").is(mail).and("month").is(month.toString())), update);
+    }
+
+    public static class MigrationResult {
+        private long rowsRead;
+        private final List<String> skippedRows = new ArrayList<>();
+        private long monthsWritten;
+
+        void skip(Attendance row, String reason) {
+            skippedRows.add(row.getId() + ": " + reason);
+        }
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getRowsSkipped() {
+            return skippedRows.size();
+        }
+
+        // "<attendance id>: <reason>" for every row left out of attendance_months
+        public List<String> getSkippedRows() {
+            return skippedRows;
+        }
+
+        public long getMonthsWritten() {
+            return monthsWritten;
+        }
+    }
+}
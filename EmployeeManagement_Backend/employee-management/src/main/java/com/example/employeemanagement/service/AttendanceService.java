@@ -1,9 +1,9 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.dto.AttendanceBatchResult;
+import com.example.employeemanagement.dto.AttendanceStatusChange;
 import com.example.employeemanagement.model.Attendance;
-import com.example.employeemanagement.model.Employee;
-import com.example.employeemanagement.repository.AttendanceRepository;
-import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.AttendanceStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,17 +24,13 @@ public class AttendanceService {
 // inside autoCreateDailyAttendance()
 
     @Autowired
-    private EmployeeRepository employeeRepo;
+    private AttendanceStore attendanceStore;
 
     @Autowired
-    private AttendanceRepository attendanceRepo;
+    private ClusterJobRunner jobRunner;
 
+    // Single find-and-modify; rows only exist for EMPLOYEE accounts, so no separate employee lookup.
     public ResponseEntity<String> markEmployeePresent(String mail, String dateStr) {
-        Optional<Employee> employeeOpt = employeeRepo.findByMail(mail);
-        if (employeeOpt.isEmpty() || !employeeOpt.get().getRole().equalsIgnoreCase("EMPLOYEE")) {
-            return ResponseEntity.badRequest().body("❌ Employee not found or invalid role");
-        }
-
         LocalDate date;
         try {
             date = LocalDate.parse(dateStr); // e.g., "2025-06-12"
@@ -41,34 +38,46 @@ public class AttendanceService {
             return ResponseEntity.badRequest().body("❌ Invalid date format (Expected: yyyy-MM-dd)");
         }
 
-        Optional<Attendance> attendanceOpt = attendanceRepo.findByEmployeeMailAndDate(mail, date);
-        if (attendanceOpt.isEmpty()) {
+        Optional<Attendance> updated = attendanceStore.updateStatus(mail, date, "Present");
+        if (updated.isEmpty()) {
             return ResponseEntity.badRequest().body("❌ Attendance record not found for that date");
         }
 
-        Attendance attendance = attendanceOpt.get();
-        attendance.setStatus("Present");
-        attendanceRepo.save(attendance);
-
         return ResponseEntity.ok("✅ Marked Present for " + mail + " on " + date);
     }
 
+    public AttendanceBatchResult applyStatusChanges(List<AttendanceStatusChange> changes) {
+        List<Attendance> valid = new ArrayList<>();
+        List<String> rejected = new ArrayList<>();
+        for (AttendanceStatusChange change : changes) {
+            if (change.getMail() == null || change.getStatus() == null || change.getDate() == null) {
+                rejected.add(change.getMail() + " " + change.getDate() + ": mail, date and status are required");
+                continue;
+            }
+            try {
+                Attendance att = new Attendance();
+                att.setEmployeeMail(change.getMail());
+                att.setDate(LocalDate.parse(change.getDate()));
+                att.setStatus(change.getStatus());
+                valid.add(att);
+            } catch (DateTimeParseException e) {
+                rejected.add(change.getMail() + " " + change.getDate() + ": invalid date format (Expected: yyyy-MM-dd)");
+            }
+        }
 
-    // Automatically creates "Absent" attendance records for all EMPLOYEEs every day
+        AttendanceBatchResult result = valid.isEmpty() ? new AttendanceBatchResult() : attendanceStore.updateStatuses(valid);
+        result.setRequested(changes.size());
+        result.setRejected(rejected);
+        return result;
+    }
+
+
+    // Automatically creates "Absent" attendance records for all EMPLOYEEs every day.
+    // Every node fires this; the job runner elects one to plan the run and shares the partitions out.
     @Scheduled(cron = "0 0 0 * * ?") // Runs every day at midnight
     public void autoCreateDailyAttendance() {
-        List<Employee> employees = employeeRepo.findByRoleIgnoreCase("EMPLOYEE");
         LocalDate today = LocalDate.now();
         logger.info("Running daily attendance generation for {}", today);
-        for (Employee emp : employees) {
-            Optional<Attendance> existing = attendanceRepo.findByEmployeeMailAndDate(emp.getMail(), today);
-            if (existing.isEmpty()) {
-                Attendance att = new Attendance();
-                att.setEmployeeMail(emp.getMail());
-                att.setDate(today);
-                att.setStatus("Absent");
-                attendanceRepo.save(att);
-            }
-        }
+        jobRunner.trigger(DailyAttendanceJob.NAME, today.toString());
     }
 }
@@ -0,0 +1,165 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.AttendanceSummaryRow;
+import com.example.employeemanagement.model.Attendance;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.AttendanceStore;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Counts attendance statuses server-side so month/year views never ship raw rows.
+ * granularity: total | day | week | month; groupBy: employee | department.
+ */
+@Service
+public class AttendanceSummaryService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AttendanceStore attendanceStore;
+
+    @Value("${attendance.storage:daily}")
+    private String storage;
+
+    public List<AttendanceSummaryRow> summarize(LocalDate start, LocalDate end, String granularity, String groupBy) {
+        if ("monthly".equalsIgnoreCase(storage)) {
+            return summarizeFromStore(start, end, granularity, groupBy);
+        }
+
+        String groupField;
+        List<AggregationOperation> ops = new ArrayList<>();
+        ops.add(Aggregation.match(Criteria.where("date")
+                .gte(mongoTemplate.getConverter().convertToMongoType(start))
+                .lte(mongoTemplate.getConverter().convertToMongoType(end))));
+
+        switch (groupBy.toLowerCase()) {
+            case "employee":
+                groupField = "employeeMail";
+                break;
+            case "department":
+                ops.add(Aggregation.lookup("employees", "employeeMail", "mail", "employee"));
+                ops.add(Aggregation.unwind("employee", true));
+                groupField = "employee.department";
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid groupBy: " + groupBy);
+        }
+
+        ops.add(Aggregation.project("status")
+                .and(groupField).as("grp")
+                .and(periodOf(granularity)).as("period"));
+        ops.add(Aggregation.group("grp", "period", "status").count().as("count"));
+
+        List<Document> buckets = mongoTemplate
+                .aggregate(Aggregation.newAggregation(ops), "attendance", Document.class)
+                .getMappedResults();
+
+        Map<String, AttendanceSummaryRow> rows = new TreeMap<>();
+        for (Document bucket : buckets) {
+            Document id = (Document) bucket.get("_id");
+            String group = id.getString("grp") != null ? id.getString("grp") : "Unassigned";
+            String period = id.getString("period");
+            String status = id.getString("status") != null ? id.getString("status") : "Unknown";
+
+            rows.computeIfAbsent(group + '\u0000' + period, k -> new AttendanceSummaryRow(group, period))
+                    .add(status, ((Number) bucket.get("count")).longValue());
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    // Packed months cannot be grouped per day inside Mongo, so fold the expanded rows in memory.
+    private List<AttendanceSummaryRow> summarizeFromStore(LocalDate start, LocalDate end, String granularity, String groupBy) {
+        Map<String, String> departments;
+        switch (groupBy.toLowerCase()) {
+            case "employee":
+                departments = null;
+                break;
+            case "department":
+                departments = new HashMap<>();
+                Query query = new Query();
+                query.fields().include("mail").include("department");
+                for (Employee emp : mongoTemplate.find(query, Employee.class)) {
+                    if (emp.getMail() != null && emp.getDepartment() != null) {
+                        departments.put(emp.getMail(), emp.getDepartment());
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid groupBy: " + groupBy);
+        }
+        periodOf(granularity); // rejects unknown granularities
+
+        Map<String, AttendanceSummaryRow> rows = new TreeMap<>();
+        try (Stream<Attendance> stream = attendanceStore.streamByDateRange(start, end)) {
+            stream.forEach(att -> {
+                String group = departments == null
+                        ? att.getEmployeeMail()
+                        : departments.getOrDefault(att.getEmployeeMail(), "Unassigned");
+                String period = periodKey(att.getDate(), granularity);
+                rows.computeIfAbsent(group + '\u0000' + period, k -> new AttendanceSummaryRow(group, period))
+                        .add(att.getStatus(), 1);
+            });
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    private static String periodKey(LocalDate date, String granularity) {
+        switch (granularity.toLowerCase()) {
+            case "day":
+                return date.toString();
+            case "week":
+                return String.format("%d-W%02d",
+                        date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case "month":
+                return YearMonth.from(date).toString();
+            default:
+                return "total";
+        }
+    }
+
+    private AggregationExpression periodOf(String granularity) {
+        String format;
+        switch (granularity.toLowerCase()) {
+            case "total":
+                return LiteralOperators.Literal.asLiteral("total");
+            case "day":
+                format = "%Y-%m-%d";
+                break;
+            case "week":
+                format = "%G-W%V";
+                break;
+            case "month":
+                format = "%Y-%m";
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid granularity: " + granularity);
+        }
+        // LocalDate is stored as midnight in the server's default zone
+        return DateOperators.DateToString.dateOf("date")
+                .toString(format)
+                .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()));
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.employeemanagement.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-node invalidation for {@link ProfileCache}, {@link PrincipalService} and
+ * {@link WorkingDayCalendar}: tails one database change stream over employees, employee_data,
+ * leave_balances, leave_ledger, admins and holidays and evicts the touched entries, whichever
+ * node made the write. Needs a replica set (a single-node one is enough), so it only runs
+ * with {@code cache.invalidation.change-streams=true}.
+ *
+ * <p>The resume token is kept in memory, so reconnects after a network error pick up exactly
+ * where the stream stopped. It is not persisted: a restarted node begins with empty caches,
+ * so nothing written before the restart can be stale in them. If the stream cannot be
+ * resumed (history rolled off the oplog, collection dropped) the caches are flushed.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.change-streams", havingValue = "true")
+public class CacheInvalidationStream {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationStream.class);
+
+    private static final List<String> COLLECTIONS = List.of("employees", "employee_data", "leave_balances", "leave_ledger", "admins", "holidays");
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProfileCache profileCache;
+    private final PrincipalService principalService;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final Counter events;
+
+    private volatile boolean running;
+    private volatile BsonDocument resumeToken;
+    private Thread worker;
+
+    public CacheInvalidationStream(MongoTemplate mongoTemplate, ProfileCache profileCache,
+                                   PrincipalService principalService, WorkingDayCalendar workingDayCalendar,
+                                   MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.profileCache = profileCache;
+        this.principalService = principalService;
+        this.workingDayCalendar = workingDayCalendar;
+        this.events = meterRegistry.counter("cache.invalidation.events");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        worker = new Thread(this::run, "cache-invalidation-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) worker.interrupt();
+    }
+
+    private void run() {
+        long backoffMillis = 100;
+        while (running) {
+            boolean fresh = resumeToken == null;
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open().cursor()) {
+                backoffMillis = 100;
+                // entries loaded while no stream was watching may already be stale
+                if (fresh) flush();
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null && apply(change)) break;
+                    BsonDocument token = cursor.getResumeToken();
+                    if (token != null) resumeToken = token;
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    logger.warn("Change stream history lost, flushing caches");
+                    resumeToken = null;
+                    flush();
+                } else if (running) {
+                    logger.warn("Change stream failed: {}", e.getMessage());
+                }
+                backoffMillis = sleep(backoffMillis);
+            } catch (MongoException e) {
+                if (running) logger.warn("Change stream interrupted: {}", e.getMessage());
+                backoffMillis = sleep(backoffMillis);
+            }
+        }
+    }
+
+    private ChangeStreamIterable<Document> open() {
+        List<Bson> pipeline = List.of(
+                Aggregates.match(Filters.in("ns.coll", COLLECTIONS)),
+                Aggregates.project(Projections.include("operationType", "ns", "documentKey",
+                        "fullDocument.mail", "fullDocument.empMail", "fullDocument.employeeMail",
+                        "fullDocument.username")));
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb().watch(pipeline)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(500, TimeUnit.MILLISECONDS);
+        return resumeToken != null ? stream.resumeAfter(resumeToken) : stream;
+    }
+
+    // evicts what the change touched; true when the event ends the stream
+    boolean apply(ChangeStreamDocument<Document> change) {
+        events.increment();
+        OperationType type = change.getOperationType();
+        if (type == OperationType.INVALIDATE || type == OperationType.DROP
+                || type == OperationType.DROP_DATABASE || type == OperationType.RENAME) {
+            // the stream ends here; restart from now with nothing cached
+            resumeToken = null;
+            flush();
+            return true;
+        }
+        if (change.getNamespace() == null || change.getDocumentKey() == null) return false;
+
+        String id = idOf(change.getDocumentKey().get("_id"));
+        Document doc = change.getFullDocument();
+        switch (change.getNamespace().getCollectionName()) {
+            case "employees" -> {
+                String mail = doc != null ? doc.getString("mail") : null;
+                profileCache.evictEmployee(id, mail);
+                profileCache.evictEmployeeData(id, mail);
+                principalService.evict(PrincipalService.Realm.APP, id, mail);
+            }
+            case "employee_data" -> profileCache.evictEmployeeData(id, doc != null ? doc.getString("empMail") : null);
+            case "leave_balances" -> profileCache.evictLeaveBalance(id, doc != null ? doc.getString("employeeMail") : null);
+            case "leave_ledger" -> profileCache.evictLeaveBalance(null, doc != null ? doc.getString("employeeMail") : null);
+            case "admins" -> principalService.evict(PrincipalService.Realm.ADMIN, id, doc != null ? doc.getString("username") : null);
+            case "holidays" -> workingDayCalendar.evictAll();
+            default -> {
+            }
+        }
+        return false;
+    }
+
+    private void flush() {
+        profileCache.evictAll();
+        principalService.evictAll(PrincipalService.Realm.APP);
+        principalService.evictAll(PrincipalService.Realm.ADMIN);
+        workingDayCalendar.evictAll();
+    }
+
+    private static String idOf(BsonValue id) {
+        if (id == null) return null;
+        if (id.isObjectId()) return id.asObjectId().getValue().toHexString();
+        if (id.isString()) return id.asString().getValue();
+        return id.toString();
+    }
+
+    private long sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        return Math.min(millis * 2, 5_000);
+    }
+}
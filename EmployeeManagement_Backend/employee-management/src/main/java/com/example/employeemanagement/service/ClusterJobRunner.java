@@ -0,0 +1,328 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.JobLease;
+import com.example.employeemanagement.model.JobPartition;
+import com.example.employeemanagement.model.JobRun;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Runs a {@link ClusteredJob} once per run key however many nodes trigger it, coordinated
+ * through MongoDB alone:
+ * <ol>
+ *   <li>The nodes race for the job's lease in job_leases; the winner becomes coordinator,
+ *   splits the employees into {@code _id} ranges and records the run in job_runs.</li>
+ *   <li>Every node, coordinator included, then claims ranges (job_partitions) one at a time
+ *   with a conditional findAndModify and processes them, renewing the claim's lease between
+ *   chunks.</li>
+ *   <li>A claim whose lease expired belongs to a node that died; any node claims it again,
+ *   either while still working on the run or from the periodic sweep
+ *   ({@code jobs.sweep-interval-ms}). After {@value #MAX_ATTEMPTS} attempts a range is
+ *   marked Failed.</li>
+ *   <li>Whichever node sees no open range left completes the run with its totals.</li>
+ * </ol>
+ * Leases compare wall-clock times written by different nodes, so node clocks must be kept
+ * in sync (NTP); the lease TTL ({@code jobs.lease-ttl-seconds}) should dwarf any skew.
+ */
+@Service
+public class ClusterJobRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterJobRunner.class);
+
+    static final int MAX_ATTEMPTS = 3;
+    private static final long JOIN_POLL_MILLIS = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, ClusteredJob> jobs = new HashMap<>();
+    private final String nodeId;
+    private final Duration leaseTtl;
+
+    public ClusterJobRunner(MongoTemplate mongoTemplate,
+                            List<ClusteredJob> jobs,
+                            @Value("${jobs.node-id:}") String nodeId,
+                            @Value("${jobs.lease-ttl-seconds:60}") long leaseTtlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        for (ClusteredJob job : jobs) this.jobs.put(job.name(), job);
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.leaseTtl = Duration.ofSeconds(leaseTtlSeconds);
+    }
+
+    // host name plus a random suffix, so several instances on one host stay apart
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Runs {@code runKey} of the named job on this node together with every other node that
+     * triggers it, and returns the run as this node left it (Running while other nodes still
+     * hold ranges). Null if another node is still planning the run; this node then joins it
+     * from the sweep.
+     */
+    public JobRun trigger(String jobName, String runKey) {
+        ClusteredJob job = jobs.get(jobName);
+        if (job == null) throw new IllegalArgumentException("Unknown job: " + jobName);
+        String runId = jobName + ":" + runKey;
+
+        JobRun run = mongoTemplate.findById(runId, JobRun.class);
+        if (run == null && tryAcquireLease("coordinator:" + jobName)) {
+            try {
+                run = plan(job, runId, runKey);
+            } finally {
+                releaseLease("coordinator:" + jobName);
+            }
+        }
+        // lost the election: wait for the coordinator to publish the run
+        long deadline = System.currentTimeMillis() + leaseTtl.toMillis();
+        while (run == null && System.currentTimeMillis() < deadline) {
+            if (!pause(JOIN_POLL_MILLIS)) return null;
+            run = mongoTemplate.findById(runId, JobRun.class);
+        }
+        if (run == null || !JobRun.RUNNING.equals(run.getStatus())) return run;
+
+        work(job, run);
+        return mongoTemplate.findById(runId, JobRun.class);
+    }
+
+    // picks up ranges left behind by crashed nodes, and runs this node planned no part of
+    @Scheduled(fixedDelayString = "${jobs.sweep-interval-ms:30000}", initialDelayString = "${jobs.sweep-interval-ms:30000}")
+    public void sweep() {
+        try {
+            for (JobRun run : mongoTemplate.find(new Query(where("status").is(JobRun.RUNNING)), JobRun.class)) {
+                ClusteredJob job = jobs.get(run.getJob());
+                if (job != null) work(job, run);
+            }
+        } catch (DataAccessResourceFailureException e) {
+            logger.warn("MongoDB unreachable, skipping job sweep: {}", e.getMessage());
+        }
+    }
+
+    public List<JobRun> recentRuns(String jobName, int limit) {
+        Query query = new Query(jobName != null ? where("job").is(jobName) : new Criteria())
+                .with(Sort.by(Sort.Direction.DESC, "startedAt")).limit(limit);
+        return mongoTemplate.find(query, JobRun.class);
+    }
+
+    public List<JobPartition> partitions(String runId) {
+        return mongoTemplate.find(new Query(where("runId").is(runId)).with(Sort.by("index")), JobPartition.class);
+    }
+
+    // ---- leases
+
+    boolean tryAcquireLease(String name) {
+        Instant now = Instant.now();
+        Query free = new Query(where("_id").is(name).orOperator(
+                where("expiresAt").lt(now), where("owner").is(nodeId)));
+        Update take = new Update().set("owner", nodeId).set("acquiredAt", now).set("expiresAt", now.plus(leaseTtl));
+        try {
+            mongoTemplate.upsert(free, take, JobLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // the lease exists, is live and is someone else's
+            return false;
+        }
+    }
+
+    void releaseLease(String name) {
+        mongoTemplate.remove(new Query(where("_id").is(name).and("owner").is(nodeId)), JobLease.class);
+    }
+
+    // ---- planning
+
+    private JobRun plan(ClusteredJob job, String runId, String runKey) {
+        JobRun existing = mongoTemplate.findById(runId, JobRun.class);
+        if (existing != null) return existing;
+
+        JobRun run = new JobRun();
+        run.setId(runId);
+        run.setJob(job.name());
+        run.setRunKey(runKey);
+        run.setStatus(JobRun.RUNNING);
+        run.setCoordinator(nodeId);
+        run.setBoundaries(boundaries(job.partitions()));
+        run.setPartitions(run.getBoundaries().size() + 1);
+        run.setStartedAt(Instant.now());
+        try {
+            // the run document is the plan; its partitions are derived from it, so a crash in
+            // between leaves nothing a later node cannot finish
+            mongoTemplate.insert(run);
+        } catch (DuplicateKeyException e) {
+            return mongoTemplate.findById(runId, JobRun.class);
+        }
+        ensurePartitions(run);
+        logger.info("Job {} planned by {} in {} partitions", runId, nodeId, run.getPartitions());
+        return run;
+    }
+
+    // employee _ids cutting the collection into roughly equal ranges, ascending
+    private List<String> boundaries(int partitions) {
+        List<String> boundaries = new ArrayList<>();
+        long total = mongoTemplate.estimatedCount(Employee.class);
+        if (partitions <= 1 || total < partitions) return boundaries;
+        for (int k = 1; k < partitions; k++) {
+            Query at = new Query().with(Sort.by("_id")).skip(total * k / partitions).limit(1);
+            at.fields().include("_id");
+            Employee employee = mongoTemplate.findOne(at, Employee.class);
+            if (employee == null) break;
+            if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(employee.getId())) {
+                boundaries.add(employee.getId());
+            }
+        }
+        return boundaries;
+    }
+
+    private void ensurePartitions(JobRun run) {
+        List<String> boundaries = run.getBoundaries() != null ? run.getBoundaries() : List.of();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobPartition.class);
+        for (int i = 0; i <= boundaries.size(); i++) {
+            ops.upsert(new Query(where("_id").is(run.getId() + "#" + i)), new Update()
+                    .setOnInsert("runId", run.getId())
+                    .setOnInsert("index", i)
+                    .setOnInsert("lowerId", i > 0 ? boundaries.get(i - 1) : null)
+                    .setOnInsert("upperId", i < boundaries.size() ? boundaries.get(i) : null)
+                    .setOnInsert("status", JobPartition.PENDING)
+                    .setOnInsert("attempts", 0));
+        }
+        ops.execute();
+    }
+
+    // ---- working
+
+    private void work(ClusteredJob job, JobRun run) {
+        if (mongoTemplate.count(new Query(where("runId").is(run.getId())), JobPartition.class) < run.getPartitions()) {
+            ensurePartitions(run);
+        }
+        JobPartition partition;
+        while ((partition = claimNext(run.getId())) != null) {
+            process(job, run, partition);
+        }
+        tryComplete(run.getId());
+    }
+
+    // the first open range: never claimed, handed back, or claimed by a node whose lease ran out
+    private JobPartition claimNext(String runId) {
+        Instant now = Instant.now();
+        Query open = new Query(where("runId").is(runId).and("attempts").lt(MAX_ATTEMPTS).orOperator(
+                where("status").is(JobPartition.PENDING),
+                where("status").is(JobPartition.CLAIMED).and("leaseExpiresAt").lt(now)))
+                .with(Sort.by("index"));
+        Update claim = new Update()
+                .set("status", JobPartition.CLAIMED)
+                .set("owner", nodeId)
+                .set("claim", UUID.randomUUID().toString())
+                .set("leaseExpiresAt", now.plus(leaseTtl))
+                .set("startedAt", now)
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(open, claim, FindAndModifyOptions.options().returnNew(true), JobPartition.class);
+    }
+
+    private void process(ClusteredJob job, JobRun run, JobPartition partition) {
+        Query mine = new Query(where("_id").is(partition.getId()).and("claim").is(partition.getClaim()));
+        Runnable heartbeat = () -> {
+            boolean renewed = mongoTemplate.updateFirst(mine,
+                    new Update().set("leaseExpiresAt", Instant.now().plus(leaseTtl)), JobPartition.class).getMatchedCount() > 0;
+            if (!renewed) throw new LeaseLostException(partition.getId());
+        };
+        try {
+            long rows = job.process(run.getRunKey(), partition.getLowerId(), partition.getUpperId(), heartbeat);
+            mongoTemplate.updateFirst(mine, new Update()
+                    .set("status", JobPartition.DONE)
+                    .set("rows", rows)
+                    .set("completedAt", Instant.now())
+                    .unset("error"), JobPartition.class);
+        } catch (LeaseLostException e) {
+            logger.warn("Job {}: lost the claim on partition {}, leaving it to its new owner", run.getId(), partition.getIndex());
+        } catch (RuntimeException e) {
+            boolean giveUp = partition.getAttempts() >= MAX_ATTEMPTS;
+            logger.error("Job {}: partition {} failed (attempt {}): {}",
+                    run.getId(), partition.getIndex(), partition.getAttempts(), e.getMessage());
+            mongoTemplate.updateFirst(mine, new Update()
+                    .set("status", giveUp ? JobPartition.FAILED : JobPartition.PENDING)
+                    .set("error", String.valueOf(e.getMessage()))
+                    .unset("owner")
+                    .unset("leaseExpiresAt"), JobPartition.class);
+        }
+    }
+
+    private void tryComplete(String runId) {
+        // ranges whose last attempt died with its node
+        mongoTemplate.updateMulti(new Query(where("runId").is(runId).and("status").is(JobPartition.CLAIMED)
+                        .and("leaseExpiresAt").lt(Instant.now()).and("attempts").gte(MAX_ATTEMPTS)),
+                new Update().set("status", JobPartition.FAILED).set("error", "abandoned after " + MAX_ATTEMPTS + " attempts"),
+                JobPartition.class);
+        boolean open = mongoTemplate.exists(new Query(where("runId").is(runId)
+                .and("status").in(JobPartition.PENDING, JobPartition.CLAIMED)), JobPartition.class);
+        if (open) return;
+
+        Document totals = mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.match(where("runId").is(runId)),
+                        Aggregation.group("runId").sum("rows").as("rows")
+                                .sum(ConditionalOperators.when(where("status").is(JobPartition.FAILED)).then(1).otherwise(0)).as("failures")),
+                "job_partitions", Document.class).getUniqueMappedResult();
+        long rows = totals != null ? ((Number) totals.get("rows")).longValue() : 0;
+        int failures = totals != null ? ((Number) totals.get("failures")).intValue() : 0;
+
+        JobRun done = mongoTemplate.findAndModify(new Query(where("_id").is(runId).and("status").is(JobRun.RUNNING)),
+                new Update()
+                        .set("status", failures > 0 ? JobRun.FAILED : JobRun.COMPLETED)
+                        .set("rows", rows)
+                        .set("failures", failures)
+                        .set("completedAt", Instant.now()),
+                FindAndModifyOptions.options().returnNew(true), JobRun.class);
+        if (done != null) logger.info("Job {} {} on {}: {} rows, {} failed partitions", runId, done.getStatus(), nodeId, rows, failures);
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static final class LeaseLostException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        LeaseLostException(String partitionId) {
+            super("claim on " + partitionId + " was taken over");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.employeemanagement.service;
+
+/**
+ * Work that {@link ClusterJobRunner} runs once per run key across all nodes, split into
+ * ranges of employee {@code _id}s that the nodes claim and process in parallel.
+ */
+public interface ClusteredJob {
+    String name();
+
+    // how many employee ranges a run is split into; 1 keeps it on one node
+    int partitions();
+
+    /**
+     * Processes the employees with {@code lowerId <= _id < upperId} (null: unbounded) and
+     * returns the rows written. Must be idempotent: a partition of a crashed node runs again.
+     * {@code heartbeat} renews the claim and should be called between chunks; it throws once
+     * the claim has passed to another node.
+     */
+    long process(String runKey, String lowerId, String upperId, Runnable heartbeat);
+}
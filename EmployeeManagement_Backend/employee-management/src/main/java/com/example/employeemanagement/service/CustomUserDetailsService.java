@@ -1,30 +1,17 @@
 package com.example.employeemanagement.service;
 
-import com.example.employeemanagement.model.Admin;
-import com.example.employeemanagement.model.Employee;
-import com.example.employeemanagement.repository.AdminRepository;
-import com.example.employeemanagement.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.*;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
+
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private PrincipalService principalService;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Employee employee = employeeRepository.findByMail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new User(
-                employee.getMail(),
-                employee.getPass(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + employee.getRole()))
-        );
+        return principalService.loadUserDetails(PrincipalService.Realm.APP, username);
     }
 }
-
@@ -0,0 +1,37 @@
+package com.example.employeemanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// the midnight "Absent" rows, keyed by date
+@Component
+public class DailyAttendanceJob implements ClusteredJob {
+
+    public static final String NAME = "attendance-daily";
+
+    private final AttendanceGenerationService generationService;
+    private final int partitions;
+
+    public DailyAttendanceJob(AttendanceGenerationService generationService,
+                              @Value("${jobs.attendance-daily.partitions:4}") int partitions) {
+        this.generationService = generationService;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int partitions() {
+        return partitions;
+    }
+
+    @Override
+    public long process(String runKey, String lowerId, String upperId, Runnable heartbeat) {
+        return generationService.generateFor(LocalDate.parse(runKey), lowerId, upperId, heartbeat).getInserted();
+    }
+}
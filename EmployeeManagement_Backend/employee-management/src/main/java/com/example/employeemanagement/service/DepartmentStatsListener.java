@@ -0,0 +1,107 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Applies every repository save and delete of Employee and EmployeeData to the
+ * {@link DepartmentStatsService department rollups} as deltas. An update or delete reads the
+ * stored document by id before the write, so the figures it had can be taken back out; an
+ * insert has no id yet and reads nothing. The mapping events of one write are published on the
+ * writing thread, which carries that document from "before" to "after". Deletes other than
+ * by id rebuild every rollup.
+ */
+@Component
+public class DepartmentStatsListener extends AbstractMongoEventListener<Object> {
+
+    private final DepartmentStatsService departmentStats;
+    private final ThreadLocal<Employee> employeeBefore = new ThreadLocal<>();
+    private final ThreadLocal<EmployeeData> profileBefore = new ThreadLocal<>();
+
+    public DepartmentStatsListener(DepartmentStatsService departmentStats) {
+        this.departmentStats = departmentStats;
+    }
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Employee emp) {
+            employeeBefore.set(departmentStats.storedEmployee(emp.getId()));
+        } else if (source instanceof EmployeeData data) {
+            profileBefore.set(departmentStats.storedProfile(data.getId()));
+        }
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Employee emp) {
+            departmentStats.employeeChanged(take(employeeBefore, emp.getId()), emp);
+        } else if (source instanceof EmployeeData data) {
+            EmployeeData before = take(profileBefore, data.getId());
+            if (before != null && !Objects.equals(before.getEmpMail(), data.getEmpMail())) {
+                profileChanged(before, null);
+                before = null;
+            }
+            profileChanged(before, data);
+        }
+    }
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<Object> event) {
+        Class<?> type = event.getType();
+        Object id = byId(event.getSource());
+        if (type == Employee.class) {
+            employeeBefore.set(departmentStats.storedEmployee(id));
+        } else if (type == EmployeeData.class) {
+            profileBefore.set(departmentStats.storedProfile(id));
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Class<?> type = event.getType();
+        if (type != Employee.class && type != EmployeeData.class) return;
+        Employee employee = employeeBefore.get();
+        EmployeeData profile = profileBefore.get();
+        employeeBefore.remove();
+        profileBefore.remove();
+        if (byId(event.getSource()) == null) {
+            departmentStats.rebuild();
+        } else if (type == Employee.class) {
+            departmentStats.employeeChanged(employee, null);
+        } else if (profile != null) {
+            profileChanged(profile, null);
+        }
+    }
+
+    // a legacy row only counts for an employee without an embedded profile
+    private void profileChanged(EmployeeData before, EmployeeData after) {
+        Employee owner = departmentStats.employeeByMail((after != null ? after : before).getEmpMail());
+        if (owner != null && owner.getProfile() == null) departmentStats.profileChanged(owner, before, after);
+    }
+
+    // the snapshot taken before this document's write; bulk inserts convert every document first
+    private static <T> T take(ThreadLocal<T> before, String id) {
+        T snapshot = before.get();
+        before.remove();
+        if (snapshot == null || id == null) return null;
+        String snapshotId = snapshot instanceof Employee e ? e.getId() : ((EmployeeData) snapshot).getId();
+        return id.equals(snapshotId) ? snapshot : null;
+    }
+
+    // the _id of a delete-by-id query, else null
+    private static Object byId(Document query) {
+        Object id = query.get("_id");
+        return query.size() == 1 && !(id instanceof Document) ? id : null;
+    }
+}
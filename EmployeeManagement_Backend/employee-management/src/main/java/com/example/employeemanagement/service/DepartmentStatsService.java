@@ -0,0 +1,356 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.DepartmentStats;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Headcount, salary total and average, gender split and age bands per department, kept in
+ * the department_stats collection so dashboards read one document per department.
+ *
+ * <p>Every employee or profile write is applied as {@code $inc} deltas (see
+ * {@link DepartmentStatsListener}): the written employee's old figures are taken out of its
+ * old department and its new ones added to the new, so a write costs one update per department
+ * whatever the department's size. Bulk writes wrapped in {@link #inBatch} instead recompute each
+ * touched department once from its members, read over the {@code department_mail} index.
+ * {@link #rebuild()} recomputes every department, on startup and nightly
+ * ({@code department.stats.rebuild-cron}). That moves people into their next age band, and it
+ * repairs what the deltas cannot see: writes that bypassed the mapping layer, and a bulk write
+ * that failed part way. A recompute never overwrites a rollup written after its read began.
+ *
+ * <p>Employees without a department are not counted.
+ */
+@Service
+public class DepartmentStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentStatsService.class);
+
+    static final String UNKNOWN = "unknown";
+    private static final int[] AGE_BAND_STARTS = {25, 35, 45, 55};
+
+    private final MongoTemplate mongoTemplate;
+    // departments touched inside inBatch, refreshed once when it ends
+    private final ThreadLocal<Set<String>> deferred = new ThreadLocal<>();
+
+    public DepartmentStatsService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public List<DepartmentStats> all() {
+        return mongoTemplate.find(new Query().with(Sort.by("_id")), DepartmentStats.class);
+    }
+
+    public DepartmentStats of(String department) {
+        return mongoTemplate.findById(department, DepartmentStats.class);
+    }
+
+    public void refreshAll(Collection<String> departments) {
+        for (String department : new HashSet<>(departments)) refresh(department);
+    }
+
+    // refreshes now, or once at the end of the enclosing inBatch
+    public void touched(String department) {
+        Set<String> pending = deferred.get();
+        if (pending == null) {
+            refresh(department);
+        } else if (department != null) {
+            pending.add(department);
+        }
+    }
+
+    // runs bulk writes with one refresh per touched department instead of one per document
+    public void inBatch(Runnable writes) {
+        if (deferred.get() != null) {
+            writes.run();
+            return;
+        }
+        Set<String> pending = new HashSet<>();
+        deferred.set(pending);
+        try {
+            writes.run();
+        } finally {
+            deferred.remove();
+            refreshAll(pending);
+        }
+    }
+
+    // the stored fields an employee's figures come from, or null
+    Employee storedEmployee(Object id) {
+        return id != null ? employeeWhere(where("_id").is(id)) : null;
+    }
+
+    Employee employeeByMail(String mail) {
+        return mail != null ? employeeWhere(where("mail").is(mail)) : null;
+    }
+
+    EmployeeData storedProfile(Object id) {
+        if (id == null) return null;
+        Query query = new Query(where("_id").is(id));
+        query.fields().include("empMail", "gender", "dob");
+        return mongoTemplate.findOne(query, EmployeeData.class);
+    }
+
+    private Employee employeeWhere(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include("mail", "department", "salary", "profile");
+        return mongoTemplate.findOne(query, Employee.class);
+    }
+
+    /**
+     * Applies one employee write: {@code before} (null for an insert) leaves its department and
+     * {@code after} (null for a delete) joins its own. Both need the fields of
+     * {@link #storedEmployee}.
+     */
+    public void employeeChanged(Employee before, Employee after) {
+        if (deferred.get() != null) {
+            if (before != null) touched(before.getDepartment());
+            if (after != null) touched(after.getDepartment());
+            return;
+        }
+        // a legacy profile counted on both sides cancels out, so it is only read when it can matter
+        boolean sameLegacy = before != null && after != null
+                && before.getProfile() == null && after.getProfile() == null
+                && Objects.equals(before.getMail(), after.getMail())
+                && Objects.equals(before.getDepartment(), after.getDepartment());
+        LocalDate today = LocalDate.now();
+        Map<String, Map<String, Number>> deltas = new HashMap<>();
+        if (before != null) addEmployee(deltas, before, sameLegacy ? null : profileOf(before), today, -1);
+        if (after != null) addEmployee(deltas, after, sameLegacy ? null : profileOf(after), today, 1);
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Applies a change of the profile counted for {@code owner}, from {@code before} to
+     * {@code after} (null when there is none); the owner's department and salary are unchanged.
+     */
+    public void profileChanged(Employee owner, EmployeeData before, EmployeeData after) {
+        if (owner == null || !counted(owner.getDepartment())) return;
+        if (deferred.get() != null) {
+            touched(owner.getDepartment());
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Map<String, Number> delta = new HashMap<>();
+        addProfile(delta, before, today, -1);
+        addProfile(delta, after, today, 1);
+        apply(owner.getDepartment(), delta);
+    }
+
+    // the embedded profile, or else the legacy employee_data row, as compute() counts it
+    private EmployeeData profileOf(Employee employee) {
+        if (!counted(employee.getDepartment())) return null;
+        if (employee.getProfile() != null) return employee.getProfile().toEmployeeData(employee);
+        return legacyProfiles(List.of(employee)).get(employee.getMail());
+    }
+
+    private static void addEmployee(Map<String, Map<String, Number>> deltas, Employee employee,
+                                    EmployeeData profile, LocalDate today, int sign) {
+        if (!counted(employee.getDepartment())) return;
+        Map<String, Number> delta = deltas.computeIfAbsent(employee.getDepartment(), d -> new HashMap<>());
+        delta.merge("headcount", (long) sign, DepartmentStatsService::plus);
+        if (employee.getSalary() != null) {
+            delta.merge("salariedCount", (long) sign, DepartmentStatsService::plus);
+            delta.merge("salaryTotal", sign * employee.getSalary(), DepartmentStatsService::plus);
+        }
+        addProfile(delta, profile, today, sign);
+    }
+
+    private static void addProfile(Map<String, Number> delta, EmployeeData profile, LocalDate today, int sign) {
+        String gender = profile != null ? profile.getGender() : null;
+        LocalDate dob = profile != null ? profile.getDob() : null;
+        delta.merge("genders." + genderKey(gender), (long) sign, DepartmentStatsService::plus);
+        delta.merge("ageBands." + ageBand(dob, today), (long) sign, DepartmentStatsService::plus);
+    }
+
+    private static Number plus(Number a, Number b) {
+        if (a instanceof Double || b instanceof Double) return a.doubleValue() + b.doubleValue();
+        return a.longValue() + b.longValue();
+    }
+
+    private static boolean counted(String department) {
+        return department != null && !department.isBlank();
+    }
+
+    // computedAt moves too, so a recompute that read before this write does not overwrite it
+    private void apply(String department, Map<String, Number> delta) {
+        delta.values().removeIf(value -> value.doubleValue() == 0);
+        if (delta.isEmpty()) return;
+        Update update = new Update().set("computedAt", Instant.now());
+        delta.forEach(update::inc);
+        DepartmentStats stats = mongoTemplate.findAndModify(new Query(where("_id").is(department)), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), DepartmentStats.class);
+        if (stats != null) dropEmptied(stats);
+    }
+
+    // removes a department nobody is left in, and the genders and age bands that reached zero
+    private void dropEmptied(DepartmentStats stats) {
+        Query query = new Query(where("_id").is(stats.getDepartment()));
+        if (stats.getHeadcount() <= 0) {
+            mongoTemplate.remove(query.addCriteria(where("headcount").lte(0)), DepartmentStats.class);
+            return;
+        }
+        Update update = new Update();
+        for (Map.Entry<String, Long> gender : stats.getGenders().entrySet()) {
+            if (gender.getValue() != 0) continue;
+            query.addCriteria(where("genders." + gender.getKey()).is(0));
+            update.unset("genders." + gender.getKey());
+        }
+        for (Map.Entry<String, Long> band : stats.getAgeBands().entrySet()) {
+            if (band.getValue() != 0) continue;
+            query.addCriteria(where("ageBands." + band.getKey()).is(0));
+            update.unset("ageBands." + band.getKey());
+        }
+        // rounding left over from the salaries taken out
+        if (stats.getSalariedCount() == 0 && stats.getSalaryTotal() != 0) {
+            query.addCriteria(where("salariedCount").is(0));
+            update.set("salaryTotal", 0.0);
+        }
+        if (!update.getUpdateObject().isEmpty()) mongoTemplate.updateFirst(query, update, DepartmentStats.class);
+    }
+
+    public void refresh(String department) {
+        if (!counted(department)) return;
+        Instant start = Instant.now();
+        DepartmentStats stats = compute(department, LocalDate.now());
+
+        // only replace figures written before our read began (to the stored millisecond); later ones have seen at least as much
+        Query older = new Query(where("_id").is(department).orOperator(
+                where("computedAt").lte(start), where("computedAt").exists(false)));
+        if (stats.getHeadcount() == 0) {
+            mongoTemplate.remove(older, DepartmentStats.class);
+            return;
+        }
+        Update update = new Update()
+                .set("headcount", stats.getHeadcount())
+                .set("salariedCount", stats.getSalariedCount())
+                .set("salaryTotal", stats.getSalaryTotal())
+                .set("genders", stats.getGenders())
+                .set("ageBands", stats.getAgeBands())
+                .set("computedAt", start);
+        try {
+            mongoTemplate.upsert(older, update, DepartmentStats.class);
+        } catch (DuplicateKeyException e) {
+            // the rollup exists and is newer than this computation
+        }
+    }
+
+    DepartmentStats compute(String department, LocalDate today) {
+        Query members = new Query(where("department").is(department));
+        members.fields().include("mail", "salary", "profile");
+        List<Employee> employees = mongoTemplate.find(members, Employee.class);
+
+        Map<String, EmployeeData> legacy = legacyProfiles(employees);
+        DepartmentStats stats = new DepartmentStats();
+        stats.setDepartment(department);
+        for (Employee employee : employees) {
+            stats.setHeadcount(stats.getHeadcount() + 1);
+            if (employee.getSalary() != null) {
+                stats.setSalariedCount(stats.getSalariedCount() + 1);
+                stats.setSalaryTotal(stats.getSalaryTotal() + employee.getSalary());
+            }
+            String gender;
+            LocalDate dob;
+            if (employee.getProfile() != null) {
+                gender = employee.getProfile().getGender();
+                dob = employee.getProfile().getDob();
+            } else {
+                EmployeeData data = legacy.get(employee.getMail());
+                gender = data != null ? data.getGender() : null;
+                dob = data != null ? data.getDob() : null;
+            }
+            stats.getGenders().merge(genderKey(gender), 1L, Long::sum);
+            stats.getAgeBands().merge(ageBand(dob, today), 1L, Long::sum);
+        }
+        return stats;
+    }
+
+    // employee_data rows of the members without an embedded profile, in one query
+    private Map<String, EmployeeData> legacyProfiles(List<Employee> employees) {
+        List<String> mails = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getProfile() == null && employee.getMail() != null) mails.add(employee.getMail());
+        }
+        Map<String, EmployeeData> byMail = new HashMap<>();
+        if (mails.isEmpty()) return byMail;
+        Query query = new Query(where("empMail").in(mails));
+        query.fields().include("empMail", "gender", "dob");
+        MongoConverter converter = mongoTemplate.getConverter();
+        for (Document row : mongoTemplate.find(query, Document.class, "employee_data")) {
+            EmployeeData data = converter.read(EmployeeData.class, row);
+            byMail.putIfAbsent(data.getEmpMail(), data);
+        }
+        return byMail;
+    }
+
+    // also a field name in the rollup, so no dots
+    static String genderKey(String gender) {
+        return gender == null || gender.isBlank() ? UNKNOWN : gender.trim().toLowerCase(Locale.ROOT).replace('.', '_');
+    }
+
+    static String ageBand(LocalDate dob, LocalDate today) {
+        if (dob == null || dob.isAfter(today)) return UNKNOWN;
+        int age = Period.between(dob, today).getYears();
+        if (age < AGE_BAND_STARTS[0]) return "<" + AGE_BAND_STARTS[0];
+        for (int i = 1; i < AGE_BAND_STARTS.length; i++) {
+            if (age < AGE_BAND_STARTS[i]) return AGE_BAND_STARTS[i - 1] + "-" + (AGE_BAND_STARTS[i] - 1);
+        }
+        return AGE_BAND_STARTS[AGE_BAND_STARTS.length - 1] + "+";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (DataAccessResourceFailureException e) {
+            logger.warn("MongoDB unreachable, skipping department stats rebuild: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${department.stats.rebuild-cron:0 30 0 * * ?}")
+    public void nightlyRebuild() {
+        rebuildOnStartup();
+    }
+
+    // recomputes every department and drops the rollups of departments nobody is in any more
+    public int rebuild() {
+        Instant start = Instant.now();
+        Set<String> departments = new HashSet<>(
+                mongoTemplate.findDistinct(new Query(), "department", Employee.class, String.class));
+        departments.removeIf(d -> d == null || d.isBlank());
+        for (String department : departments) refresh(department);
+
+        mongoTemplate.remove(new Query(where("_id").nin(departments).and("computedAt").lt(start)), DepartmentStats.class);
+        logger.info("Department stats rebuilt for {} departments", departments.size());
+        return departments.size();
+    }
+}
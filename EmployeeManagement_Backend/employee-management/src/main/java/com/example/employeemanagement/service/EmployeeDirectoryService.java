@@ -0,0 +1,220 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.MongoIndexInitializer;
+import com.example.employeemanagement.dto.EmployeeProfileDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.repository.ProfileStore;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.UnsetOperation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * HR directory search as one aggregation: employee filters, {@code $lookup} of employee_data,
+ * profile filters (age becomes a DOB range), then paging. When no profile filter is given the
+ * lookup runs only for the returned page. Role, department and gender are matched by equality
+ * under the {@link MongoIndexInitializer#CASE_INSENSITIVE case-insensitive collation}, so the
+ * *_ci indexes serve them; without those filters the aggregation keeps the simple collation
+ * and the sort can walk the (field, _id) index.
+ *
+ * <p>With embedded profiles ({@code employee.profile.storage=embedded}) there is no lookup:
+ * profile filters match {@code profile.*} on the employee itself. Rows not migrated yet get
+ * their legacy employee_data in one extra query per page, and cannot match profile filters.
+ */
+@Service
+public class EmployeeDirectoryService {
+
+    private static final Set<String> SORT_FIELDS = Set.of("mail", "name");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProfileStore profileStore;
+
+    // Offset paging: sort/skip/limit and the total count in a single $facet.
+    public Page<EmployeeProfileDTO> search(String gender, String role, String name, String department,
+                                           Integer age, Pageable pageable) {
+        pageable.getSort().forEach(order -> checkSortField(order.getProperty()));
+        boolean filtersOnData = gender != null || age != null;
+        List<AggregationOperation> ops = filterStages(gender, role, name, department, age, null);
+        ops.add(Aggregation.sort(pageable.getSort().and(Sort.by("_id"))));
+
+        List<AggregationOperation> page = new ArrayList<>();
+        page.add(Aggregation.skip(pageable.getOffset()));
+        page.add(Aggregation.limit(pageable.getPageSize()));
+        if (!filtersOnData) page.addAll(lookupStages());
+        ops.add(Aggregation.facet(page.toArray(new AggregationOperation[0])).as("items")
+                .and(Aggregation.count().as("total")).as("total"));
+
+        Document result = mongoTemplate
+                .aggregate(aggregation(ops, gender, role, department), "employees", Document.class)
+                .getUniqueMappedResult();
+
+        List<EmployeeProfileDTO> profiles = new ArrayList<>();
+        long total = 0;
+        if (result != null) {
+            profiles = toProfiles(result.getList("items", Document.class));
+            List<Document> count = result.getList("total", Document.class);
+            if (!count.isEmpty()) total = ((Number) count.get(0).get("total")).longValue();
+        }
+        return new PageImpl<>(profiles, pageable, total);
+    }
+
+    /**
+     * Keyset paging: starts after {@code cursor} (null or blank for the first page) on the first
+     * sort order of {@code pageable} and skips the total count, so every page costs the same.
+     */
+    public CursorSlice searchAfter(String gender, String role, String name, String department,
+                                   Integer age, Pageable pageable, String cursor) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("mail"));
+        checkSortField(order.getProperty());
+        Criteria after = cursor == null || cursor.isBlank()
+                ? null
+                : KeysetCursor.decode(cursor, order.getProperty(), order.isDescending()).toCriteria();
+
+        List<AggregationOperation> ops = filterStages(gender, role, name, department, age, after);
+        ops.add(Aggregation.sort(Sort.by(order.getDirection(), order.getProperty(), "_id")));
+        ops.add(Aggregation.limit(pageable.getPageSize() + 1L));
+        if (gender == null && age == null) ops.addAll(lookupStages());
+
+        List<Document> rows = mongoTemplate
+                .aggregate(aggregation(ops, gender, role, department), "employees", Document.class)
+                .getMappedResults();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) rows = rows.subList(0, pageable.getPageSize());
+
+        String next = hasNext
+                ? KeysetCursor.after(rows.get(rows.size() - 1), order.getProperty(), order.isDescending()).encode()
+                : null;
+        return new CursorSlice(toProfiles(rows), pageable, next);
+    }
+
+    private List<AggregationOperation> filterStages(String gender, String role, String name, String department,
+                                                    Integer age, Criteria after) {
+        List<AggregationOperation> ops = new ArrayList<>();
+
+        Criteria employeeCriteria = new Criteria();
+        if (role != null) employeeCriteria.and("role").is(role);
+        if (department != null) employeeCriteria.and("department").is(department);
+        if (name != null) employeeCriteria.and("name").regex(Pattern.compile(Pattern.quote(name), Pattern.CASE_INSENSITIVE));
+        if (after != null) employeeCriteria.andOperator(after);
+        // embedded profiles are filtered in the same first $match, where profile_gender_ci applies
+        if (profileStore.embedded()) addProfileCriteria(employeeCriteria, "profile.", gender, age);
+        ops.add(Aggregation.match(employeeCriteria));
+        ops.add(UnsetOperation.unset("pass", "searchTerms"));
+
+        if (!profileStore.embedded() && (gender != null || age != null)) {
+            ops.addAll(lookupStages());
+            Criteria dataCriteria = new Criteria();
+            addProfileCriteria(dataCriteria, "employeeData.", gender, age);
+            ops.add(Aggregation.match(dataCriteria));
+        }
+        return ops;
+    }
+
+    private void addProfileCriteria(Criteria criteria, String prefix, String gender, Integer age) {
+        if (gender != null) criteria.and(prefix + "gender").is(gender);
+        if (age != null) {
+            // age N <=> today - (N + 1) years < dob <= today - N years
+            LocalDate today = LocalDate.now();
+            MongoConverter converter = mongoTemplate.getConverter();
+            criteria.and(prefix + "dob")
+                    .gt(converter.convertToMongoType(today.minusYears(age + 1L)))
+                    .lte(converter.convertToMongoType(today.minusYears(age)));
+        }
+    }
+
+    // the case-insensitive collation only when a filter needs it; it also orders the sort
+    private static Aggregation aggregation(List<AggregationOperation> ops, String gender, String role, String department) {
+        Aggregation aggregation = Aggregation.newAggregation(ops);
+        if (gender == null && role == null && department == null) return aggregation;
+        return aggregation.withOptions(AggregationOptions.builder()
+                .collation(Collation.parse(MongoIndexInitializer.CASE_INSENSITIVE)).build());
+    }
+
+    private static void checkSortField(String field) {
+        if (!SORT_FIELDS.contains(field)) throw new IllegalArgumentException("Sort must be one of " + SORT_FIELDS);
+    }
+
+    private List<AggregationOperation> lookupStages() {
+        if (profileStore.embedded()) return List.of();
+        return List.of(
+                Aggregation.lookup("employee_data", "mail", "empMail", "employeeData"),
+                Aggregation.unwind("employeeData", true));
+    }
+
+    private List<EmployeeProfileDTO> toProfiles(List<Document> rows) {
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<Employee> employees = new ArrayList<>(rows.size());
+        for (Document row : rows) employees.add(converter.read(Employee.class, row));
+        Map<String, EmployeeData> legacy = profileStore.embedded() ? legacyProfiles(employees) : Map.of();
+
+        List<EmployeeProfileDTO> profiles = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Employee employee = employees.get(i);
+            EmployeeData data;
+            if (employee.getProfile() != null) {
+                data = employee.getProfile().toEmployeeData(employee);
+            } else if (profileStore.embedded()) {
+                data = legacy.get(employee.getMail());
+            } else {
+                Document joined = rows.get(i).get("employeeData", Document.class);
+                data = joined != null ? converter.read(EmployeeData.class, joined) : null;
+            }
+            profiles.add(new EmployeeProfileDTO(employee, data));
+        }
+        return profiles;
+    }
+
+    // employee_data rows for the page's employees that have no embedded profile yet
+    private Map<String, EmployeeData> legacyProfiles(List<Employee> employees) {
+        List<String> mails = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getProfile() == null && employee.getMail() != null) mails.add(employee.getMail());
+        }
+        Map<String, EmployeeData> byMail = new HashMap<>();
+        if (mails.isEmpty()) return byMail;
+        for (EmployeeData data : mongoTemplate.find(new Query(Criteria.where("empMail").in(mails)), EmployeeData.class)) {
+            byMail.putIfAbsent(data.getEmpMail(), data);
+        }
+        return byMail;
+    }
+
+    public static class CursorSlice extends SliceImpl<EmployeeProfileDTO> {
+        private static final long serialVersionUID = 1L;
+
+        private final String nextCursor;
+
+        CursorSlice(List<EmployeeProfileDTO> content, Pageable pageable, String nextCursor) {
+            super(content, pageable, nextCursor != null);
+            this.nextCursor = nextCursor;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeImportResult;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.model.EmployeeProfile;
+import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.repository.ProfileStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bulk onboarding from CSV (with a header row) or NDJSON, read line by line so the upload is
+ * never held in memory. Rows are handled in batches: validated, checked against existing
+ * mails with one query, their passwords hashed in parallel on a dedicated fork-join pool
+ * ({@code onboarding.import.hash-threads}, half the cores by default so logins keep theirs),
+ * then written as unordered bulk inserts of Employee, EmployeeData and the opening
+ * LeaveBalance (with embedded profiles the profile goes in with the Employee), refreshing
+ * each touched department rollup once per batch. A bad row is reported with its line number
+ * and never stops the import.
+ */
+@Service
+public class EmployeeImportService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    static final int BATCH_SIZE = 500;
+    private static final int MAX_PASS_BYTES = 72;
+    private static final List<String> PROFILE_COLUMNS = List.of("empId", "dob", "gender", "mobile", "address");
+
+    public enum Format { CSV, NDJSON }
+
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final ProfileStore profileStore;
+    private final DepartmentStatsService departmentStats;
+    private final ForkJoinPool hashPool;
+
+    public EmployeeImportService(MongoTemplate mongoTemplate,
+                                 PasswordEncoder passwordEncoder,
+                                 ObjectMapper objectMapper,
+                                 ProfileStore profileStore,
+                                 DepartmentStatsService departmentStats,
+                                 @Value("${onboarding.import.hash-threads:0}") int threads) {
+        this.mongoTemplate = mongoTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.profileStore = profileStore;
+        this.departmentStats = departmentStats;
+        int parallelism = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashPool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    // throws IllegalArgumentException when a CSV header lacks the mail or pass column
+    public EmployeeImportResult importEmployees(Reader source, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        EmployeeImportResult result = new EmployeeImportResult();
+        Set<String> seenMails = new HashSet<>();
+        List<Row> batch = new ArrayList<>(BATCH_SIZE);
+
+        List<String> header = null;
+        int lineNo = 0;
+        if (format == Format.CSV) {
+            String line = reader.readLine();
+            lineNo++;
+            // spreadsheet exports often start with a byte order mark
+            if (line != null && line.startsWith("\uFEFF")) line = line.substring(1);
+            header = line != null ? csvFields(line).stream().map(String::trim).toList() : List.of();
+            if (!header.contains("mail") || !header.contains("pass")) {
+                throw new IllegalArgumentException("CSV header must name at least the mail and pass columns");
+            }
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+            result.setRowsRead(result.getRowsRead() + 1);
+            try {
+                Map<String, String> fields = format == Format.CSV ? csvRow(header, line) : jsonRow(line);
+                batch.add(new Row(lineNo, fields));
+            } catch (IllegalArgumentException e) {
+                result.reject(lineNo, null, e.getMessage());
+                continue;
+            }
+            if (batch.size() == BATCH_SIZE) {
+                departmentStats.inBatch(() -> flush(batch, seenMails, result));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) departmentStats.inBatch(() -> flush(batch, seenMails, result));
+
+        logger.info("Employee import: {} rows read, {} created, {} rejected",
+                result.getRowsRead(), result.getCreated(), result.getRejected().size());
+        return result;
+    }
+
+    private void flush(List<Row> rows, Set<String> seenMails, EmployeeImportResult result) {
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String error = validate(row);
+            if (error == null && !seenMails.add(row.mail)) error = "mail appears earlier in the import";
+            if (error != null) {
+                result.reject(row.line, row.mail, error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) return;
+
+        // one round trip for the whole batch instead of one findByMail per row
+        Query existing = new Query(Criteria.where("mail").in(valid.stream().map(r -> r.mail).toList()));
+        existing.fields().include("mail").exclude("_id");
+        Set<String> taken = new HashSet<>();
+        for (Document doc : mongoTemplate.find(existing, Document.class, "employees")) taken.add(doc.getString("mail"));
+        for (Iterator<Row> it = valid.iterator(); it.hasNext(); ) {
+            Row row = it.next();
+            if (taken.contains(row.mail)) {
+                result.reject(row.line, row.mail, "an employee with this mail already exists");
+                it.remove();
+            }
+        }
+        if (valid.isEmpty()) return;
+
+        List<CompletableFuture<String>> hashes = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            String pass = row.fields.get("pass");
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(pass), hashPool));
+        }
+        List<Row> hashed = new ArrayList<>(valid.size());
+        List<Employee> employees = new ArrayList<>(valid.size());
+        boolean embedded = profileStore.embedded();
+        for (int i = 0; i < valid.size(); i++) {
+            Row row = valid.get(i);
+            String hash;
+            try {
+                hash = hashes.get(i).join();
+            } catch (CompletionException e) {
+                // one unhashable password costs its row, not the rest of the file
+                result.reject(row.line, row.mail, "pass could not be hashed: " + e.getCause().getMessage());
+                continue;
+            }
+            Employee employee = employee(row, hash);
+            EmployeeData data = embedded ? profile(row) : null;
+            if (data != null) employee.setProfile(EmployeeProfile.from(data));
+            hashed.add(row);
+            employees.add(employee);
+        }
+        if (hashed.isEmpty()) return;
+
+        List<Row> inserted = insertEmployees(hashed, employees, result);
+        if (inserted.isEmpty()) return;
+
+        List<EmployeeData> profiles = new ArrayList<>();
+        List<Row> profileRows = new ArrayList<>();
+        List<LeaveBalance> balances = new ArrayList<>(inserted.size());
+        for (Row row : inserted) {
+            EmployeeData data = embedded ? null : profile(row);
+            if (data != null) {
+                profiles.add(data);
+                profileRows.add(row);
+            }
+            balances.add(LeaveBalance.opening(row.mail));
+        }
+        insertAll(profileRows, profiles, EmployeeData.class, "employee created, profile not saved: ", result);
+        insertAll(inserted, balances, LeaveBalance.class, "employee created, leave balance not saved: ", result);
+        result.setCreated(result.getCreated() + inserted.size());
+    }
+
+    // rows whose Employee landed; a mail taken since the existence check fails here on the unique index
+    private List<Row> insertEmployees(List<Row> rows, List<Employee> employees, EmployeeImportResult result) {
+        Set<Integer> failed = insertAll(rows, employees, Employee.class, "", result);
+        if (failed.isEmpty()) return rows;
+        List<Row> inserted = new ArrayList<>(rows.size() - failed.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (!failed.contains(i)) inserted.add(rows.get(i));
+        }
+        return inserted;
+    }
+
+    private Set<Integer> insertAll(List<Row> rows, List<?> documents, Class<?> type, String prefix, EmployeeImportResult result) {
+        if (documents.isEmpty()) return Set.of();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                Row row = rows.get(error.getIndex());
+                failed.add(error.getIndex());
+                result.reject(row.line, row.mail, prefix + (error.getCode() == 11000 ? "duplicate key" : error.getMessage()));
+            }
+            if (type == Employee.class || type == EmployeeData.class) {
+                // a failed bulk write publishes no after-save events, even for the documents that landed
+                for (int i = 0; i < rows.size(); i++) {
+                    if (!failed.contains(i)) departmentStats.touched(rows.get(i).fields.get("department"));
+                }
+            }
+            return failed;
+        }
+    }
+
+    private static String validate(Row row) {
+        if (row.mail == null || !row.mail.contains("@")) return "a valid mail is required";
+        String pass = row.fields.get("pass");
+        if (pass == null || pass.isBlank()) return "pass is required";
+        // BCrypt only reads the first 72 bytes and refuses anything longer
+        if (pass.getBytes(StandardCharsets.UTF_8).length > MAX_PASS_BYTES) return "pass is longer than 72 bytes";
+        String salary = row.fields.get("salary");
+        if (salary != null) {
+            try {
+                Double.parseDouble(salary);
+            } catch (NumberFormatException e) {
+                return "salary is not a number";
+            }
+        }
+        String dob = row.fields.get("dob");
+        if (dob != null) {
+            try {
+                LocalDate.parse(dob);
+            } catch (DateTimeParseException e) {
+                return "dob must be yyyy-MM-dd";
+            }
+        }
+        return null;
+    }
+
+    private static Employee employee(Row row, String passwordHash) {
+        Employee employee = new Employee();
+        employee.setMail(row.mail);
+        employee.setPass(passwordHash);
+        employee.setRole("EMPLOYEE");
+        employee.setName(row.fields.get("name"));
+        employee.setDepartment(row.fields.get("department"));
+        employee.setJobRole(row.fields.get("jobRole"));
+        String salary = row.fields.get("salary");
+        if (salary != null) employee.setSalary(Double.parseDouble(salary));
+        return employee;
+    }
+
+    // null when the row carries no profile columns
+    private static EmployeeData profile(Row row) {
+        if (PROFILE_COLUMNS.stream().noneMatch(row.fields::containsKey)) return null;
+        EmployeeData data = new EmployeeData();
+        data.setEmpMail(row.mail);
+        data.setEmpId(row.fields.get("empId"));
+        String dob = row.fields.get("dob");
+        if (dob != null) data.setDob(LocalDate.parse(dob));
+        data.setGender(row.fields.get("gender"));
+        data.setMobile(row.fields.get("mobile"));
+        data.setAddress(row.fields.get("address"));
+        return data;
+    }
+
+    private Map<String, String> jsonRow(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("not a JSON object");
+        }
+        if (node == null || !node.isObject()) throw new IllegalArgumentException("not a JSON object");
+        Map<String, String> fields = new HashMap<>();
+        node.properties().forEach(e -> put(fields, e.getKey(), e.getValue().isNull() ? null : e.getValue().asText()));
+        return fields;
+    }
+
+    private static Map<String, String> csvRow(List<String> header, String line) {
+        List<String> values = csvFields(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " fields, found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) put(fields, header.get(i), values.get(i));
+        return fields;
+    }
+
+    // blank values count as absent, so optional columns may be left empty
+    private static void put(Map<String, String> fields, String key, String value) {
+        if (value != null && !value.isBlank()) fields.put(key, value.trim());
+    }
+
+    // RFC 4180 fields on one line: quoted fields may contain commas and doubled quotes
+    static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("unterminated quoted field");
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class Row {
+        final int line;
+        final String mail;
+        final Map<String, String> fields;
+
+        Row(int line, Map<String, String> fields) {
+            this.line = line;
+            this.mail = fields.get("mail");
+            this.fields = fields;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeListItem;
+import com.example.employeemanagement.dto.EmployeeListPage;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keyset-paginated employee list with only the columns the grids show.
+ */
+@Service
+public class EmployeeListService {
+
+    public static final int MAX_LIMIT = 200;
+    private static final Set<String> SORT_FIELDS = Set.of("mail", "name");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public EmployeeListPage list(String cursor, int limit, String sort, boolean descending) {
+        if (!SORT_FIELDS.contains(sort)) {
+            throw new IllegalArgumentException("Sort must be one of " + SORT_FIELDS);
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        Query query = new Query();
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(KeysetCursor.decode(cursor, sort, descending).toCriteria());
+        }
+        query.with(Sort.by(direction, sort, "_id")).limit(pageSize + 1);
+        query.fields().include("name", "mail", "role", "department", "jobRole", "salary");
+
+        List<Document> rows = mongoTemplate.find(query, Document.class, "employees");
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) rows = rows.subList(0, pageSize);
+
+        List<EmployeeListItem> items = new ArrayList<>(rows.size());
+        for (Document row : rows) {
+            Number salary = (Number) row.get("salary");
+            items.add(new EmployeeListItem(
+                    String.valueOf(row.get("_id")),
+                    row.getString("name"),
+                    row.getString("mail"),
+                    row.getString("role"),
+                    row.getString("department"),
+                    row.getString("jobRole"),
+                    salary != null ? salary.doubleValue() : null));
+        }
+
+        String nextCursor = hasMore ? KeysetCursor.after(rows.get(rows.size() - 1), sort, descending).encode() : null;
+        return new EmployeeListPage(items, nextCursor);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.model.EmployeeProfile;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Copies employee_data rows into the {@code profile} of their employees, in {@code _id}
+ * order and in batches. The last copied {@code _id} is checkpointed in the migrations
+ * collection after every batch, so an interrupted run resumes where it stopped.
+ *
+ * <p>Intended order: switch {@code employee.profile.storage} to {@code embedded} (reads fall
+ * back to employee_data, writes go to the employee), then run this. A profile already
+ * embedded is never overwritten, so edits made after the switch win over the old row, and
+ * running it again is harmless.
+ */
+@Service
+public class EmployeeProfileMigrationService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeProfileMigrationService.class);
+
+    static final String MIGRATION_ID = "employee-profile-embed";
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProfileCache profileCache;
+
+    public EmployeeProfileMigrationService(MongoTemplate mongoTemplate, ProfileCache profileCache) {
+        this.mongoTemplate = mongoTemplate;
+        this.profileCache = profileCache;
+    }
+
+    public MigrationResult migrateToEmbedded() {
+        return migrate(Integer.MAX_VALUE);
+    }
+
+    // at most maxBatches batches; the rest is left to the next call
+    MigrationResult migrate(int maxBatches) {
+        MongoConverter converter = mongoTemplate.getConverter();
+        MigrationResult result = new MigrationResult();
+        Object lastId = checkpoint();
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Query query = new Query(lastId != null ? Criteria.where("_id").gt(lastId) : new Criteria())
+                    .with(Sort.by("_id")).limit(BATCH_SIZE);
+            List<Document> rows = mongoTemplate.find(query, Document.class, "employee_data");
+            if (rows.isEmpty()) {
+                result.complete = true;
+                break;
+            }
+
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class);
+            int queued = 0;
+            for (Document row : rows) {
+                result.rowsRead++;
+                EmployeeData data = converter.read(EmployeeData.class, row);
+                if (data.getEmpMail() == null) {
+                    result.rowsSkipped++;
+                    continue;
+                }
+                ops.updateOne(new Query(Criteria.where("mail").is(data.getEmpMail()).and("profile").exists(false)),
+                        new Update().set("profile", EmployeeProfile.from(data)));
+                queued++;
+            }
+            if (queued > 0) {
+                long embedded = ops.execute().getModifiedCount();
+                result.profilesEmbedded += embedded;
+                // no employee for the mail, or a profile written since the switch
+                result.rowsSkipped += queued - embedded;
+            }
+
+            lastId = rows.get(rows.size() - 1).get("_id");
+            saveCheckpoint(lastId);
+        }
+
+        // the bulk updates bypass the mapping events
+        if (result.profilesEmbedded > 0) profileCache.evictAll();
+        logger.info("Profile migration: {} rows read, {} embedded, {} skipped, complete={}",
+                result.rowsRead, result.profilesEmbedded, result.rowsSkipped, result.complete);
+        return result;
+    }
+
+    private Object checkpoint() {
+        Document state = mongoTemplate.findById(MIGRATION_ID, Document.class, "migrations");
+        return state != null ? state.get("lastId") : null;
+    }
+
+    private void saveCheckpoint(Object lastId) {
+        mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(MIGRATION_ID)),
+                new Update().set("lastId", lastId).set("updatedAt", Instant.now()),
+                FindAndModifyOptions.options().upsert(true),
+                Document.class, "migrations");
+    }
+
+    public static class MigrationResult {
+        private long rowsRead;
+        private long rowsSkipped;
+        private long profilesEmbedded;
+        private boolean complete;
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getRowsSkipped() {
+            return rowsSkipped;
+        }
+
+        public long getProfilesEmbedded() {
+            return profilesEmbedded;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeListItem;
+import com.example.employeemanagement.model.Employee;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead search over employee name, mail, department and jobRole, answered from the
+ * multikey index on {@code searchTerms}: every query word must be a prefix of some employee
+ * word. Matches come back in index order and only the returned page is sorted by name.
+ */
+@Service
+public class EmployeeSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchService.class);
+
+    public static final int MAX_LIMIT = 50;
+    private static final int BACKFILL_BATCH = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public List<EmployeeListItem> search(String text, int limit) {
+        List<String> terms = SearchTerms.query(text);
+        if (terms.isEmpty()) return List.of();
+        // the index bounds come from the first $all element; the longest prefix is the most selective
+        terms.sort(Comparator.comparingInt(String::length).reversed());
+
+        Query query = new Query(Criteria.where("searchTerms").all(terms))
+                .withHint("searchTerms")
+                .limit(Math.max(1, Math.min(limit, MAX_LIMIT)));
+        query.fields().include("name", "mail", "role", "department", "jobRole", "salary");
+
+        List<EmployeeListItem> items = new ArrayList<>();
+        for (Document row : mongoTemplate.find(query, Document.class, "employees")) {
+            Number salary = (Number) row.get("salary");
+            items.add(new EmployeeListItem(
+                    String.valueOf(row.get("_id")),
+                    row.getString("name"),
+                    row.getString("mail"),
+                    row.getString("role"),
+                    row.getString("department"),
+                    row.getString("jobRole"),
+                    salary != null ? salary.doubleValue() : null));
+        }
+        items.sort(Comparator.comparing(EmployeeListItem::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return items;
+    }
+
+    /**
+     * Fills {@code searchTerms} on employees written before the field existed (or by tools
+     * that bypass the mapping layer). Rows saved through the app get them from
+     * {@link EmployeeSearchTermsListener}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchTerms() {
+        try {
+            int updated = backfill();
+            if (updated > 0) logger.info("Search terms backfilled for {} employees", updated);
+        } catch (DataAccessResourceFailureException e) {
+            logger.warn("MongoDB unreachable, skipping search terms backfill: {}", e.getMessage());
+        }
+    }
+
+    int backfill() {
+        Query missing = new Query(Criteria.where("searchTerms").exists(false));
+        missing.fields().include("name", "mail", "department", "jobRole");
+
+        int updated = 0;
+        try (Stream<Employee> stream = mongoTemplate.stream(missing, Employee.class)) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (Employee employee : (Iterable<Employee>) stream::iterator) {
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class);
+                bulk.updateOne(new Query(Criteria.where("_id").is(employee.getId())),
+                        new Update().set("searchTerms", EmployeeSearchTermsListener.termsOf(employee)));
+                if (++pending == BACKFILL_BATCH) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) updated += bulk.execute().getModifiedCount();
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recomputes {@link Employee#getSearchTerms()} on every save, so the search index follows
+ * the name, mail, department and jobRole edits made through the repository.
+ */
+@Component
+public class EmployeeSearchTermsListener extends AbstractMongoEventListener<Employee> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Employee> event) {
+        Employee employee = event.getSource();
+        employee.setSearchTerms(termsOf(employee));
+    }
+
+    static List<String> termsOf(Employee employee) {
+        return SearchTerms.of(employee.getName(), employee.getMail(), employee.getDepartment(), employee.getJobRole());
+    }
+}
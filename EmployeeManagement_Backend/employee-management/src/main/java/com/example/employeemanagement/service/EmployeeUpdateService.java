@@ -0,0 +1,62 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Edits of an employee's own fields as one targeted {@code $set}, never a whole-document save,
+ * so fields the edit does not carry (the {@code @JsonIgnore}d embedded profile, or a profile
+ * {@code $set} that lands concurrently) survive it. Targeted updates publish no mapping events,
+ * so this does what the save listeners would: recompute the search terms, evict the cached
+ * profile and principal, and move the employee's figures between the department rollups.
+ */
+@Service
+public class EmployeeUpdateService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ProfileCache profileCache;
+    private final PrincipalService principalService;
+    private final DepartmentStatsService departmentStats;
+
+    public EmployeeUpdateService(MongoTemplate mongoTemplate, ProfileCache profileCache,
+                                 PrincipalService principalService, DepartmentStatsService departmentStats) {
+        this.mongoTemplate = mongoTemplate;
+        this.profileCache = profileCache;
+        this.principalService = principalService;
+        this.departmentStats = departmentStats;
+    }
+
+    /**
+     * Applies {@code update} to the employee {@code match} selects and returns the employee as
+     * it is afterwards, or null if there is none. Only the fields set in the update are written.
+     */
+    public Employee update(Query match, Update update) {
+        // the old document, for the figures (and mail) the employee is leaving
+        Employee before = mongoTemplate.findAndModify(match, update, Employee.class);
+        if (before == null) return null;
+        Employee after = mongoTemplate.findById(before.getId(), Employee.class);
+        if (after == null) return null;
+
+        mongoTemplate.updateFirst(new Query(where("_id").is(after.getId())),
+                new Update().set("searchTerms", EmployeeSearchTermsListener.termsOf(after)), Employee.class);
+
+        evict(after.getId(), before.getMail());
+        // a new mail may have been cached as a miss
+        if (!Objects.equals(before.getMail(), after.getMail())) evict(null, after.getMail());
+        departmentStats.employeeChanged(before, after);
+        return after;
+    }
+
+    private void evict(String id, String mail) {
+        profileCache.evictEmployee(id, mail);
+        profileCache.evictEmployeeData(id, mail);
+        principalService.evict(PrincipalService.Realm.APP, id, mail);
+    }
+}
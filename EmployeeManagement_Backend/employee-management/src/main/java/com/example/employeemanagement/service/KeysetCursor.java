@@ -0,0 +1,70 @@
+package com.example.employeemanagement.service;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort field, its direction and the
+ * (value, _id) of the last row returned. The next page starts strictly after that row, so
+ * deep pages cost the same as the first one.
+ */
+public final class KeysetCursor {
+    private final String field;
+    private final boolean descending;
+    private final Object value;
+    private final Object id;
+
+    private KeysetCursor(String field, boolean descending, Object value, Object id) {
+        this.field = field;
+        this.descending = descending;
+        this.value = value;
+        this.id = id;
+    }
+
+    // built from the raw BSON row so the cursor keeps the stored types (ObjectId, numbers, ...)
+    public static KeysetCursor after(Document lastRow, String field, boolean descending) {
+        return new KeysetCursor(field, descending, lastRow.get(field), lastRow.get("_id"));
+    }
+
+    public static KeysetCursor decode(String token, String expectedField, boolean expectedDescending) {
+        Document doc;
+        try {
+            doc = Document.parse(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!expectedField.equals(doc.getString("f")) || expectedDescending != doc.getBoolean("d", false)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return new KeysetCursor(doc.getString("f"), doc.getBoolean("d", false), doc.get("v"), doc.get("id"));
+    }
+
+    public String encode() {
+        String json = new Document("f", field).append("d", descending).append("v", value).append("id", id).toJson();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // rows after (value, _id) in (field, _id) order, written as ranges on the {field: 1, _id: 1} index.
+    // Null and missing values sort before every other value, and range operators never match
+    // them, so the null group is handled on its own: ascending it comes first, descending last.
+    public Criteria toCriteria() {
+        if ("_id".equals(field)) {
+            return descending ? Criteria.where("_id").lt(id) : Criteria.where("_id").gt(id);
+        }
+        if (value == null) {
+            Criteria restOfNulls = descending
+                    ? Criteria.where(field).is(null).and("_id").lt(id)
+                    : Criteria.where(field).is(null).and("_id").gt(id);
+            return descending ? restOfNulls : new Criteria().orOperator(restOfNulls, Criteria.where(field).ne(null));
+        }
+        Criteria from = descending ? Criteria.where(field).lte(value) : Criteria.where(field).gte(value);
+        Criteria seen = descending
+                ? Criteria.where(field).is(value).and("_id").gte(id)
+                : Criteria.where(field).is(value).and("_id").lte(id);
+        Criteria after = from.norOperator(seen);
+        return descending ? new Criteria().orOperator(after, Criteria.where(field).is(null)) : after;
+    }
+}
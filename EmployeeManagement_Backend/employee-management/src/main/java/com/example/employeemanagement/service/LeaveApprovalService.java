@@ -0,0 +1,167 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.LeaveRequest;
+import com.mongodb.MongoException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * HR decisions on leave requests as conditional atomic updates, with no locks in the app.
+ * The request leaves Pending in one findAndModify that only matches while it is still
+ * Pending, so exactly one of several concurrent decisions wins. An approval then appends a
+ * deduction to the {@link LeaveLedgerService leave ledger}, which is refused unless enough
+ * days remain; if it is refused, the request is put back to Pending. With a transaction
+ * manager (replica set) both steps commit or roll back together instead.
+ */
+@Service
+public class LeaveApprovalService {
+
+    public static final String PENDING = "Pending";
+    public static final String APPROVED = "Approved";
+    public static final String REJECTED = "Rejected";
+    private static final int MAX_TRANSACTION_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProfileCache profileCache;
+    private final LeaveLedgerService leaveLedger;
+    private final TransactionTemplate transactionTemplate;
+
+    public LeaveApprovalService(MongoTemplate mongoTemplate, ProfileCache profileCache, LeaveLedgerService leaveLedger,
+                                ObjectProvider<MongoTransactionManager> transactionManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.profileCache = profileCache;
+        this.leaveLedger = leaveLedger;
+        MongoTransactionManager manager = transactionManager.getIfAvailable();
+        this.transactionTemplate = manager != null ? new TransactionTemplate(manager) : null;
+    }
+
+    public Decision decide(String requestId, String status, String hrMail, String reason) {
+        String canonical = APPROVED.equalsIgnoreCase(status) ? APPROVED
+                : REJECTED.equalsIgnoreCase(status) ? REJECTED
+                : null;
+        // anything else would claim the request and leave it in a state nothing can decide again
+        if (canonical == null) return new Decision(Outcome.INVALID_STATUS, null, null);
+
+        Decision decision;
+        if (transactionTemplate != null) {
+            decision = inTransaction(requestId, canonical, hrMail, reason);
+        } else {
+            decision = apply(requestId, canonical, hrMail, reason, true);
+        }
+
+        // after commit, so no reader can re-cache the old balance in between
+        if (decision.getOutcome() == Outcome.APPLIED && APPROVED.equals(canonical)) {
+            profileCache.evictLeaveBalance(null, decision.getEmployeeMail());
+        }
+        return decision;
+    }
+
+    // a losing concurrent transaction aborts with a write conflict (or a taken ledger seq);
+    // rerunning it sees the winner's decision
+    private Decision inTransaction(String requestId, String status, String hrMail, String reason) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> {
+                    Decision d = apply(requestId, status, hrMail, reason, false);
+                    if (d.getOutcome() != Outcome.APPLIED) tx.setRollbackOnly();
+                    return d;
+                });
+            } catch (DataAccessException e) {
+                boolean retryable = isTransient(e) || e instanceof OptimisticLockingFailureException;
+                if (attempt >= MAX_TRANSACTION_ATTEMPTS || !retryable) throw e;
+            }
+        }
+    }
+
+    private static boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof MongoException mongo && mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Decision apply(String requestId, String status, String hrMail, String reason, boolean compensate) {
+        Update decide = new Update()
+                .set("status", status)
+                .set("reviewedBy", hrMail)
+                .set("decisionDate", LocalDate.now())
+                .set("decisionReason", reason != null ? reason : "");
+        // returns the request as it was before the update, or null if it was no longer Pending
+        LeaveRequest claimed = mongoTemplate.findAndModify(
+                new Query(where("_id").is(requestId).and("status").is(PENDING)), decide, LeaveRequest.class);
+        if (claimed == null) {
+            LeaveRequest existing = mongoTemplate.findById(requestId, LeaveRequest.class);
+            return existing == null
+                    ? new Decision(Outcome.NOT_FOUND, null, null)
+                    : new Decision(Outcome.ALREADY_HANDLED, existing.getReviewedBy(), existing.getEmployeeMail());
+        }
+        // unpaid leave has no balance to draw from
+        if (!APPROVED.equals(status) || LeaveRequest.UNPAID.equals(claimed.getLeaveType())) {
+            return new Decision(Outcome.APPLIED, hrMail, claimed.getEmployeeMail());
+        }
+
+        LeaveLedgerService.Result deducted;
+        try {
+            deducted = leaveLedger.deduct(
+                    claimed.getEmployeeMail(), claimed.getLeaveType(), claimed.getTotalDays(), requestId, hrMail);
+        } catch (RuntimeException e) {
+            // without a transaction nothing else would put the request back to Pending
+            if (compensate) reopen(requestId, status, hrMail);
+            throw e;
+        }
+        if (deducted != LeaveLedgerService.Result.APPLIED) {
+            if (compensate) reopen(requestId, status, hrMail);
+            Outcome outcome = deducted == LeaveLedgerService.Result.INVALID_LEAVE_TYPE
+                    ? Outcome.INVALID_LEAVE_TYPE : Outcome.INSUFFICIENT_BALANCE;
+            return new Decision(outcome, null, claimed.getEmployeeMail());
+        }
+        return new Decision(Outcome.APPLIED, hrMail, claimed.getEmployeeMail());
+    }
+
+    // undoes our own claim; matching on reviewedBy keeps it from touching anyone else's decision
+    private void reopen(String requestId, String status, String hrMail) {
+        mongoTemplate.updateFirst(
+                new Query(where("_id").is(requestId).and("status").is(status).and("reviewedBy").is(hrMail)),
+                new Update().set("status", PENDING).unset("reviewedBy").unset("decisionDate").unset("decisionReason"),
+                LeaveRequest.class);
+    }
+
+    public enum Outcome { APPLIED, NOT_FOUND, ALREADY_HANDLED, INSUFFICIENT_BALANCE, INVALID_LEAVE_TYPE, INVALID_STATUS }
+
+    public static final class Decision {
+        private final Outcome outcome;
+        private final String reviewedBy;
+        private final String employeeMail;
+
+        Decision(Outcome outcome, String reviewedBy, String employeeMail) {
+            this.outcome = outcome;
+            this.reviewedBy = reviewedBy;
+            this.employeeMail = employeeMail;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public String getReviewedBy() {
+            return reviewedBy;
+        }
+
+        public String getEmployeeMail() {
+            return employeeMail;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.TeamAvailability;
+import com.example.employeemanagement.model.LeaveRequest;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Interval queries over pending and approved leave: who is out during [from, to], how many
+ * of a department are available each day, and whether a new request overlaps one of the
+ * employee's own. Each query looks up its week buckets on a {@code leaveWeeks} index (see
+ * {@link LeaveWeeks}), so it reads the requests near the window rather than the whole history.
+ */
+@Service
+public class LeaveCalendarService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaveCalendarService.class);
+
+    private static final int BACKFILL_BATCH = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public List<LeaveRequest> onLeave(LocalDate from, LocalDate to, boolean includePending) {
+        Query query = new Query(overlapping(LeaveWeeks.window(from, to), from, to, includePending))
+                .withHint("leaveWeeks_status");
+        return find(query);
+    }
+
+    public TeamAvailability teamAvailability(String department, LocalDate from, LocalDate to, boolean includePending) {
+        List<Long> weeks = LeaveWeeks.window(from, to);
+
+        Query members = new Query(Criteria.where("department").is(department));
+        members.fields().include("mail").exclude("_id");
+        List<String> mails = new ArrayList<>();
+        for (Document row : mongoTemplate.find(members, Document.class, "employees")) {
+            String mail = row.getString("mail");
+            if (mail != null) mails.add(mail);
+        }
+
+        TeamAvailability availability = new TeamAvailability(department, mails.size());
+        List<LeaveRequest> absences = mails.isEmpty() ? List.of()
+                : find(new Query(overlapping(weeks, from, to, includePending).and("employeeMail").in(mails)));
+        availability.setAbsences(absences);
+
+        // a person with two overlapping requests is still only one person out
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Set<String> out = new HashSet<>();
+            for (LeaveRequest absence : absences) {
+                if (!day.isBefore(absence.getStartDate()) && !day.isAfter(absence.getEndDate())) {
+                    out.add(absence.getEmployeeMail());
+                }
+            }
+            availability.getDays().add(new TeamAvailability.Day(day, out.size(), mails.size() - out.size()));
+        }
+        return availability;
+    }
+
+    // the first pending or approved request of this employee that shares a day with [start, end]
+    public Optional<LeaveRequest> findOverlap(String employeeMail, LocalDate start, LocalDate end, String excludeId) {
+        Criteria criteria = overlapping(LeaveWeeks.of(start, end), start, end, true).and("employeeMail").is(employeeMail);
+        if (excludeId != null) criteria.and("_id").ne(excludeId);
+        Query query = new Query(criteria).withHint("employeeMail_leaveWeeks").limit(1);
+        query.fields().exclude("leaveWeeks");
+        return Optional.ofNullable(mongoTemplate.findOne(query, LeaveRequest.class));
+    }
+
+    // the bucket match bounds the index scan; the date comparison drops same-week neighbours
+    private static Criteria overlapping(Collection<Long> weeks, LocalDate from, LocalDate to, boolean includePending) {
+        Criteria criteria = Criteria.where("leaveWeeks").in(weeks);
+        if (includePending) {
+            criteria.and("status").in(LeaveApprovalService.PENDING, LeaveApprovalService.APPROVED);
+        } else {
+            criteria.and("status").is(LeaveApprovalService.APPROVED);
+        }
+        return criteria.and("startDate").lte(to).and("endDate").gte(from);
+    }
+
+    private List<LeaveRequest> find(Query query) {
+        query.with(Sort.by(Sort.Direction.ASC, "startDate", "_id"));
+        query.fields().exclude("leaveWeeks");
+        return mongoTemplate.find(query, LeaveRequest.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLeaveWeeks() {
+        try {
+            int updated = backfill();
+            if (updated > 0) logger.info("Leave weeks backfilled for {} requests", updated);
+        } catch (DataAccessResourceFailureException e) {
+            logger.warn("MongoDB unreachable, skipping leave weeks backfill: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fills {@code leaveWeeks} on requests written before the field existed. Requests saved
+     * through the app get them from {@link LeaveWeeksListener}.
+     */
+    int backfill() {
+        Query missing = new Query(Criteria.where("leaveWeeks").exists(false)
+                .and("startDate").ne(null).and("endDate").ne(null));
+        missing.fields().include("startDate", "endDate");
+
+        int updated = 0;
+        try (Stream<LeaveRequest> stream = mongoTemplate.stream(missing, LeaveRequest.class)) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (LeaveRequest request : (Iterable<LeaveRequest>) stream::iterator) {
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LeaveRequest.class);
+                bulk.updateOne(new Query(Criteria.where("_id").is(request.getId())),
+                        new Update().set("leaveWeeks", LeaveWeeks.of(request.getStartDate(), request.getEndDate())));
+                if (++pending == BACKFILL_BATCH) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) updated += bulk.execute().getModifiedCount();
+        }
+        return updated;
+    }
+}
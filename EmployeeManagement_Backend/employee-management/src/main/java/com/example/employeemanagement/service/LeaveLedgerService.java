@@ -0,0 +1,185 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.model.LeaveLedgerEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Leave balances as an append-only ledger. Every accrual, deduction and adjustment is a
+ * {@link LeaveLedgerEvent}; the current balance is the employee's {@code leave_balances}
+ * document (a snapshot at {@code ledgerSeq}) plus the events after it. The snapshot is
+ * rewritten every {@code leave.ledger.snapshot-every} events, so a read replays a short tail
+ * and the balance document is no longer written on every change.
+ *
+ * <p>Documents created before the ledger have no {@code ledgerSeq} and act as the opening
+ * snapshot at 0. Appends are optimistic: the next event takes {@code seq + 1} under a unique
+ * (employeeMail, seq) index, and a writer that loses the race re-reads and tries again, so a
+ * deduction is only ever checked against the balance it lands on.
+ */
+@Service
+public class LeaveLedgerService {
+
+    private static final int MAX_APPEND_ATTEMPTS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final int snapshotEvery;
+
+    public LeaveLedgerService(MongoTemplate mongoTemplate,
+                              @Value("${leave.ledger.snapshot-every:50}") int snapshotEvery) {
+        this.mongoTemplate = mongoTemplate;
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+    }
+
+    // the current balance, or null if the employee has none
+    public LeaveBalance balance(String employeeMail) {
+        return load(employeeMail);
+    }
+
+    public List<LeaveLedgerEvent> history(String employeeMail) {
+        Query query = new Query(where("employeeMail").is(employeeMail)).with(Sort.by("seq"));
+        return mongoTemplate.find(query, LeaveLedgerEvent.class);
+    }
+
+    public Result deduct(String employeeMail, String leaveType, int days, String reference, String actor) {
+        if (LeaveBalance.fieldFor(leaveType) == null) return Result.INVALID_LEAVE_TYPE;
+        return append(employeeMail, current -> {
+            LeaveLedgerEvent event = delta(LeaveLedgerEvent.DEDUCTION, leaveType, -days);
+            event.setReference(reference);
+            event.setActor(actor);
+            return event;
+        });
+    }
+
+    public Result accrue(String employeeMail, String leaveType, int days, String actor, String reason) {
+        if (LeaveBalance.fieldFor(leaveType) == null) return Result.INVALID_LEAVE_TYPE;
+        return append(employeeMail, current -> {
+            LeaveLedgerEvent event = delta(LeaveLedgerEvent.ACCRUAL, leaveType, days);
+            event.setActor(actor);
+            event.setReason(reason);
+            return event;
+        });
+    }
+
+    // records whatever change takes the balance to target; nothing is appended if it is already there
+    public Result adjustTo(String employeeMail, LeaveBalance target, String actor, String reason) {
+        return append(employeeMail, current -> {
+            LeaveLedgerEvent event = new LeaveLedgerEvent();
+            event.setType(LeaveLedgerEvent.ADJUSTMENT);
+            event.setAnnualLeave(target.getAnnualLeave() - current.getAnnualLeave());
+            event.setSickLeave(target.getSickLeave() - current.getSickLeave());
+            event.setPersonalLeave(target.getPersonalLeave() - current.getPersonalLeave());
+            event.setEmergencyLeave(target.getEmergencyLeave() - current.getEmergencyLeave());
+            if (event.getAnnualLeave() == 0 && event.getSickLeave() == 0
+                    && event.getPersonalLeave() == 0 && event.getEmergencyLeave() == 0) return null;
+            event.setActor(actor);
+            event.setReason(reason);
+            return event;
+        });
+    }
+
+    private Result append(String employeeMail, Function<LeaveBalance, LeaveLedgerEvent> eventFor) {
+        for (int attempt = 0; attempt < MAX_APPEND_ATTEMPTS; attempt++) {
+            LeaveBalance current = load(employeeMail);
+            if (current == null) return Result.NOT_FOUND;
+            LeaveLedgerEvent event = eventFor.apply(current);
+            if (event == null) return Result.APPLIED;
+
+            event.setEmployeeMail(employeeMail);
+            event.setSeq(current.getLedgerSeq() + 1);
+            event.setCreatedAt(Instant.now());
+
+            LeaveBalance next = applied(current, event);
+            if (LeaveLedgerEvent.DEDUCTION.equals(event.getType()) && overdrawn(next, event)) {
+                return Result.INSUFFICIENT_BALANCE;
+            }
+            try {
+                mongoTemplate.insert(event);
+            } catch (DuplicateKeyException e) {
+                // inside a transaction the failed write has aborted it; the caller reruns the whole unit
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw new OptimisticLockingFailureException("Concurrent leave ledger append for " + employeeMail, e);
+                }
+                continue;
+            }
+            if (event.getSeq() % snapshotEvery == 0) snapshot(next);
+            return Result.APPLIED;
+        }
+        throw new OptimisticLockingFailureException("Leave ledger for " + employeeMail + " is too contended");
+    }
+
+    private LeaveBalance load(String employeeMail) {
+        LeaveBalance balance = mongoTemplate.findOne(new Query(where("employeeMail").is(employeeMail)), LeaveBalance.class);
+        if (balance == null) return null;
+
+        Query tail = new Query(where("employeeMail").is(employeeMail).and("seq").gt(balance.getLedgerSeq()))
+                .with(Sort.by("seq"));
+        for (LeaveLedgerEvent event : mongoTemplate.find(tail, LeaveLedgerEvent.class)) {
+            balance = applied(balance, event);
+        }
+        return balance;
+    }
+
+    // only moves forward: a slow writer cannot replace a newer snapshot with an older one
+    private void snapshot(LeaveBalance balance) {
+        Criteria older = new Criteria().orOperator(
+                where("ledgerSeq").lt(balance.getLedgerSeq()), where("ledgerSeq").exists(false));
+        mongoTemplate.updateFirst(
+                new Query(where("employeeMail").is(balance.getEmployeeMail())).addCriteria(older),
+                new Update()
+                        .set("annualLeave", balance.getAnnualLeave())
+                        .set("sickLeave", balance.getSickLeave())
+                        .set("personalLeave", balance.getPersonalLeave())
+                        .set("emergencyLeave", balance.getEmergencyLeave())
+                        .set("ledgerSeq", balance.getLedgerSeq()),
+                LeaveBalance.class);
+    }
+
+    private static LeaveBalance applied(LeaveBalance balance, LeaveLedgerEvent event) {
+        LeaveBalance next = new LeaveBalance();
+        next.setId(balance.getId());
+        next.setEmployeeMail(balance.getEmployeeMail());
+        next.setAnnualLeave(balance.getAnnualLeave() + event.getAnnualLeave());
+        next.setSickLeave(balance.getSickLeave() + event.getSickLeave());
+        next.setPersonalLeave(balance.getPersonalLeave() + event.getPersonalLeave());
+        next.setEmergencyLeave(balance.getEmergencyLeave() + event.getEmergencyLeave());
+        next.setLedgerSeq(Math.max(balance.getLedgerSeq(), event.getSeq()));
+        return next;
+    }
+
+    // only the fields this event takes days from; an HR-set negative elsewhere doesn't block it
+    private static boolean overdrawn(LeaveBalance balance, LeaveLedgerEvent event) {
+        return (event.getAnnualLeave() < 0 && balance.getAnnualLeave() < 0)
+                || (event.getSickLeave() < 0 && balance.getSickLeave() < 0)
+                || (event.getPersonalLeave() < 0 && balance.getPersonalLeave() < 0)
+                || (event.getEmergencyLeave() < 0 && balance.getEmergencyLeave() < 0);
+    }
+
+    private static LeaveLedgerEvent delta(String type, String leaveType, int days) {
+        LeaveLedgerEvent event = new LeaveLedgerEvent();
+        event.setType(type);
+        switch (LeaveBalance.fieldFor(leaveType)) {
+            case "annualLeave" -> event.setAnnualLeave(days);
+            case "sickLeave" -> event.setSickLeave(days);
+            case "personalLeave" -> event.setPersonalLeave(days);
+            default -> event.setEmergencyLeave(days);
+        }
+        return event;
+    }
+
+    public enum Result { APPLIED, NOT_FOUND, INSUFFICIENT_BALANCE, INVALID_LEAVE_TYPE }
+}
@@ -0,0 +1,69 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.LeaveQueuePage;
+import com.example.employeemanagement.model.LeaveRequest;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HR leave queue: filtered by status, leave type, employee and a date range (requests
+ * overlapping [from, to]), keyset-paginated by (startDate, _id). Status and employee filters
+ * land on the matching {@code *_startDate_id} index, so a page reads about {@code limit}
+ * documents however long the history grows.
+ */
+@Service
+public class LeaveQueueService {
+
+    public static final int MAX_LIMIT = 100;
+    private static final String SORT_FIELD = "startDate";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public LeaveQueuePage queue(String status, String leaveType, String employeeMail,
+                                LocalDate from, LocalDate to, String cursor, int limit) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        MongoConverter converter = mongoTemplate.getConverter();
+
+        Criteria criteria = new Criteria();
+        if (status != null) criteria.and("status").is(status);
+        if (employeeMail != null) criteria.and("employeeMail").is(employeeMail);
+        if (leaveType != null) criteria.and("leaveType").is(leaveType);
+        if (to != null) criteria.and("startDate").lte(converter.convertToMongoType(to));
+        if (from != null) criteria.and("endDate").gte(converter.convertToMongoType(from));
+        if (cursor != null && !cursor.isBlank()) {
+            criteria.andOperator(KeysetCursor.decode(cursor, SORT_FIELD, false).toCriteria());
+        }
+
+        Query query = new Query(criteria);
+        query.with(Sort.by(Sort.Direction.ASC, SORT_FIELD, "_id")).limit(pageSize + 1);
+
+        List<Document> rows = mongoTemplate.find(query, Document.class, "leave_requests");
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) rows = rows.subList(0, pageSize);
+
+        List<LeaveRequest> items = new ArrayList<>(rows.size());
+        for (Document row : rows) items.add(converter.read(LeaveRequest.class, row));
+
+        String next = hasMore ? KeysetCursor.after(rows.get(rows.size() - 1), SORT_FIELD, false).encode() : null;
+        return new LeaveQueuePage(items, next);
+    }
+
+    // served from the status_startDate_id index alone (COUNT_SCAN)
+    public long pendingCount() {
+        return mongoTemplate.count(new Query(Criteria.where("status").is(LeaveApprovalService.PENDING)), LeaveRequest.class);
+    }
+}
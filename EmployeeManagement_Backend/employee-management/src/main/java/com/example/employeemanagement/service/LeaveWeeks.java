@@ -0,0 +1,44 @@
+package com.example.employeemanagement.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Week buckets for leave intervals. Every request stores the Monday-based week numbers its
+ * [startDate, endDate] touches; two intervals can only overlap if they share a bucket, so an
+ * interval query is an index lookup on the query's few buckets followed by an exact
+ * start/end check on what comes back.
+ */
+public final class LeaveWeeks {
+
+    // longest window an "on leave" or availability query may span
+    public static final int MAX_QUERY_WEEKS = 26;
+
+    private LeaveWeeks() {
+    }
+
+    // 1970-01-01 was a Thursday, so shifting by three days puts week boundaries on Mondays
+    public static long weekOf(LocalDate date) {
+        return Math.floorDiv(date.toEpochDay() + 3, 7);
+    }
+
+    public static List<Long> of(LocalDate start, LocalDate end) {
+        if (start == null || end == null || start.isAfter(end)) return List.of();
+        long first = weekOf(start);
+        long last = weekOf(end);
+        List<Long> weeks = new ArrayList<>((int) (last - first + 1));
+        for (long week = first; week <= last; week++) weeks.add(week);
+        return weeks;
+    }
+
+    // buckets of a query window; rejects windows whose bucket list would not stay small
+    public static List<Long> window(LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new IllegalArgumentException("from and to are required");
+        if (from.isAfter(to)) throw new IllegalArgumentException("from must not be after to");
+        if (weekOf(to) - weekOf(from) >= MAX_QUERY_WEEKS) {
+            throw new IllegalArgumentException("range must not span more than " + MAX_QUERY_WEEKS + " weeks");
+        }
+        return of(from, to);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.LeaveRequest;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes {@link LeaveRequest#getLeaveWeeks()} on every save, so the interval buckets
+ * follow the dates of requests written through the repository.
+ */
+@Component
+public class LeaveWeeksListener extends AbstractMongoEventListener<LeaveRequest> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<LeaveRequest> event) {
+        LeaveRequest request = event.getSource();
+        request.setLeaveWeeks(LeaveWeeks.of(request.getStartDate(), request.getEndDate()));
+    }
+}
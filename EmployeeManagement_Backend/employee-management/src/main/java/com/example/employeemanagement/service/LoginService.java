@@ -0,0 +1,171 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password logins for admins and employees. Each login resolves its principal once, in the
+ * realm's own collection (through {@link PrincipalService}), checks the password with BCrypt
+ * on a dedicated bounded pool and mints the token from the same principal. A full queue or a
+ * check that waits too long fails fast with {@link LoginRejectedException} instead of piling
+ * up request threads. Latencies are published as the {@code login.latency} timer (p50/p95/p99).
+ */
+@Service
+public class LoginService {
+
+    private final PrincipalService principalService;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor bcryptPool;
+    private final long maxWaitMillis;
+    // compared against when the user is unknown, so both paths cost one BCrypt check
+    private final String dummyHash;
+
+    public LoginService(PrincipalService principalService,
+                        PasswordEncoder passwordEncoder,
+                        JwtUtil jwtUtil,
+                        MeterRegistry meterRegistry,
+                        @Value("${login.bcrypt.threads:0}") int threads,
+                        @Value("${login.bcrypt.queue-capacity:64}") int queueCapacity,
+                        @Value("${login.bcrypt.max-wait-ms:2000}") long maxWaitMillis) {
+        this.principalService = principalService;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        this.maxWaitMillis = maxWaitMillis;
+        this.dummyHash = passwordEncoder.encode("login-timing-equalizer");
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.bcryptPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "login-bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("login.queue.depth", bcryptPool, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * Completes with the token, or exceptionally with {@link BadCredentialsException} or
+     * {@link LoginRejectedException}.
+     */
+    public CompletableFuture<LoginResult> login(PrincipalService.Realm realm, String identifier, String password) {
+        long start = System.nanoTime();
+        if (identifier == null || password == null) {
+            record(realm, "failure", start);
+            return CompletableFuture.failedFuture(new BadCredentialsException("Invalid credentials"));
+        }
+
+        PrincipalService.ResolvedUser principal = principalService.resolve(realm, identifier).orElse(null);
+        CompletableFuture<LoginResult> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> {
+                // the caller has already been answered with a timeout; don't burn a BCrypt round on it
+                if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= maxWaitMillis) {
+                    throw new CancellationException();
+                }
+                String hash = principal != null && principal.getPasswordHash() != null ? principal.getPasswordHash() : dummyHash;
+                if (!passwordEncoder.matches(password, hash) || principal == null) {
+                    throw new BadCredentialsException("Invalid credentials");
+                }
+                String role = roleName(principal.getRole());
+                return new LoginResult(principal.getUsername(), role, jwtUtil.generateToken(principal.getUsername(), role));
+            }, bcryptPool).orTimeout(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            record(realm, "rejected", start);
+            return CompletableFuture.failedFuture(new LoginRejectedException(LoginRejectedException.Reason.QUEUE_FULL));
+        }
+
+        return result.handle((ok, error) -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                record(realm, "rejected", start);
+                throw new LoginRejectedException(LoginRejectedException.Reason.TIMED_OUT);
+            }
+            record(realm, cause == null ? "success" : "failure", start);
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause != null) throw new IllegalStateException(cause);
+            return ok;
+        });
+    }
+
+    private static String roleName(String role) {
+        if (role == null) return "EMPLOYEE";
+        return role.startsWith("ROLE_") ? role.substring(5) : role;
+    }
+
+    private void record(PrincipalService.Realm realm, String outcome, long startNanos) {
+        Timer.builder("login.latency")
+                .tag("realm", realm.name().toLowerCase())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        bcryptPool.shutdown();
+    }
+
+    public static final class LoginResult {
+        private final String username;
+        private final String role;
+        private final String token;
+
+        LoginResult(String username, String role, String token) {
+            this.username = username;
+            this.role = role;
+            this.token = token;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public String getToken() {
+            return token;
+        }
+    }
+
+    public static class LoginRejectedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public enum Reason { QUEUE_FULL, TIMED_OUT }
+
+        private final Reason reason;
+
+        public LoginRejectedException(Reason reason) {
+            super(reason == Reason.QUEUE_FULL ? "Too many logins in progress" : "Login timed out waiting for a worker");
+            this.reason = reason;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+    }
+}
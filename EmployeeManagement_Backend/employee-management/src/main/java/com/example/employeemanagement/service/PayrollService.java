@@ -0,0 +1,359 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Attendance;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.LeaveRequest;
+import com.example.employeemanagement.model.Payslip;
+import com.example.employeemanagement.model.PayrollRun;
+import com.example.employeemanagement.repository.AttendanceStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Monthly payroll. Employees are streamed in {@code _id} order and cut into chunks of
+ * {@value #CHUNK_SIZE}, which run in parallel on a dedicated fork-join pool
+ * ({@code payroll.threads}, all cores by default). A chunk reads the attendance and approved
+ * leave of all its employees with one range query each and writes its payslips as one
+ * unordered bulk insert, so a month costs a few queries per thousand employees.
+ *
+ * <p>{@code salary} is taken as the monthly gross. Pay is docked salary / working days for
+ * every working day that is Absent (a Half Day counts half) and not covered by approved
+ * leave, and for every working day of approved {@link LeaveRequest#UNPAID unpaid} leave.
+ * Days without an attendance row are paid.
+ *
+ * <p>The payslips are the checkpoint: a chunk skips employees already paid in the run, so
+ * starting a run that crashed half-way only computes the rest. Payslips are then streamed
+ * from a cursor by {@link #export}.
+ */
+@Service
+public class PayrollService {
+    private static final Logger logger = LoggerFactory.getLogger(PayrollService.class);
+
+    static final int CHUNK_SIZE = 1000;
+    static final String ABSENT = "Absent";
+    static final String HALF_DAY = "Half Day";
+
+    private final MongoTemplate mongoTemplate;
+    private final AttendanceStore attendanceStore;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool pool;
+    // runs in progress on this node
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+
+    public PayrollService(MongoTemplate mongoTemplate,
+                          AttendanceStore attendanceStore,
+                          WorkingDayCalendar workingDayCalendar,
+                          ObjectMapper objectMapper,
+                          @Value("${payroll.threads:0}") int threads) {
+        this.mongoTemplate = mongoTemplate;
+        this.attendanceStore = attendanceStore;
+        this.workingDayCalendar = workingDayCalendar;
+        this.objectMapper = objectMapper;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return "ndjson".equalsIgnoreCase(format) || "csv".equalsIgnoreCase(format);
+    }
+
+    public PayrollRun find(YearMonth month) {
+        return mongoTemplate.findById(month.toString(), PayrollRun.class);
+    }
+
+    /**
+     * Runs, or resumes, the payroll of {@code month} and returns the completed run. A completed
+     * run is returned as it is. IllegalStateException if the run is already going on this node.
+     */
+    public PayrollRun run(YearMonth month) {
+        String runId = month.toString();
+        PayrollRun existing = mongoTemplate.findById(runId, PayrollRun.class);
+        if (existing != null && PayrollRun.COMPLETED.equals(existing.getStatus())) return existing;
+        if (!active.add(runId)) throw new IllegalStateException("The payroll for " + runId + " is already running.");
+        try {
+            return execute(month);
+        } finally {
+            active.remove(runId);
+        }
+    }
+
+    private PayrollRun execute(YearMonth month) {
+        String runId = month.toString();
+        boolean[] working = new boolean[month.lengthOfMonth()];
+        for (int i = 0; i < working.length; i++) working[i] = workingDayCalendar.isWorkingDay(month.atDay(i + 1));
+        Month context = new Month(month, working);
+
+        // a resumed run counts on from the payslips it already has
+        long alreadyPaid = mongoTemplate.count(new Query(where("runId").is(runId)), Payslip.class);
+        mongoTemplate.upsert(new Query(where("_id").is(runId)),
+                new Update().set("status", PayrollRun.RUNNING).set("workingDays", context.workingDays)
+                        .set("processed", alreadyPaid).set("skipped", 0L)
+                        .setOnInsert("startedAt", Instant.now()),
+                PayrollRun.class);
+
+        long began = System.nanoTime();
+        // bounds the chunks held in memory while the cursor runs ahead of the workers
+        Semaphore inFlight = new Semaphore(pool.getParallelism() * 2);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        Query employees = new Query().with(Sort.by("_id")).cursorBatchSize(CHUNK_SIZE);
+        employees.fields().include("mail", "name", "department", "salary");
+        try (Stream<Employee> stream = mongoTemplate.stream(employees, Employee.class)) {
+            List<Employee> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (Employee employee : (Iterable<Employee>) stream::iterator) {
+                chunk.add(employee);
+                if (chunk.size() == CHUNK_SIZE) {
+                    chunks.add(submit(context, chunk, inFlight));
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) chunks.add(submit(context, chunk, inFlight));
+        }
+        // a failed chunk fails the run; it stays Running and resumes on the next start
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+
+        Document totals = mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.match(where("runId").is(runId)),
+                        Aggregation.group("runId").sum("baseSalary").as("gross").sum("netPay").as("net").count().as("paid")),
+                "payslips", Document.class).getUniqueMappedResult();
+        Update complete = new Update()
+                .set("status", PayrollRun.COMPLETED)
+                .set("completedAt", Instant.now())
+                .set("grossTotal", totals != null ? ((Number) totals.get("gross")).doubleValue() : 0.0)
+                .set("netTotal", totals != null ? ((Number) totals.get("net")).doubleValue() : 0.0)
+                .set("processed", totals != null ? ((Number) totals.get("paid")).longValue() : 0L);
+        PayrollRun run = mongoTemplate.findAndModify(new Query(where("_id").is(runId)), complete,
+                FindAndModifyOptions.options().returnNew(true), PayrollRun.class);
+        logger.info("Payroll {}: {} payslips in {} ms", runId, run.getProcessed(), (System.nanoTime() - began) / 1_000_000);
+        return run;
+    }
+
+    private CompletableFuture<Void> submit(Month month, List<Employee> chunk, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        return CompletableFuture.runAsync(() -> processChunk(month, chunk), pool)
+                .whenComplete((ignored, error) -> inFlight.release());
+    }
+
+    private void processChunk(Month month, List<Employee> chunk) {
+        List<String> mails = new ArrayList<>(chunk.size());
+        for (Employee employee : chunk) {
+            if (employee.getMail() != null) mails.add(employee.getMail());
+        }
+
+        // resume: whoever already has a payslip in this run is done
+        Query paidQuery = new Query(where("runId").is(month.runId).and("employeeMail").in(mails));
+        paidQuery.fields().include("employeeMail").exclude("_id");
+        Set<String> paid = new HashSet<>();
+        for (Document row : mongoTemplate.find(paidQuery, Document.class, "payslips")) paid.add(row.getString("employeeMail"));
+
+        List<Employee> due = new ArrayList<>(chunk.size());
+        long skipped = 0;
+        for (Employee employee : chunk) {
+            if (employee.getMail() == null || paid.contains(employee.getMail())) continue;
+            if (employee.getSalary() == null) {
+                skipped++;
+            } else {
+                due.add(employee);
+            }
+        }
+
+        long written = 0;
+        if (!due.isEmpty()) {
+            List<String> dueMails = due.stream().map(Employee::getMail).toList();
+            Map<String, List<Attendance>> attendance = new HashMap<>();
+            for (Attendance row : attendanceStore.findByEmployeeMailInAndDateRange(dueMails, month.start, month.end)) {
+                attendance.computeIfAbsent(row.getEmployeeMail(), k -> new ArrayList<>()).add(row);
+            }
+            Map<String, List<LeaveRequest>> leave = new HashMap<>();
+            for (LeaveRequest request : approvedLeave(dueMails, month)) {
+                leave.computeIfAbsent(request.getEmployeeMail(), k -> new ArrayList<>()).add(request);
+            }
+
+            List<Payslip> payslips = new ArrayList<>(due.size());
+            for (Employee employee : due) {
+                payslips.add(payslip(employee, month,
+                        attendance.getOrDefault(employee.getMail(), List.of()),
+                        leave.getOrDefault(employee.getMail(), List.of())));
+            }
+            written = insert(payslips);
+        }
+
+        mongoTemplate.updateFirst(new Query(where("_id").is(month.runId)),
+                new Update().inc("processed", written).inc("skipped", skipped), PayrollRun.class);
+    }
+
+    // approved requests overlapping the month, looked up by week bucket on employeeMail_leaveWeeks
+    private List<LeaveRequest> approvedLeave(List<String> mails, Month month) {
+        Query query = new Query(where("employeeMail").in(mails)
+                .and("leaveWeeks").in(LeaveWeeks.window(month.start, month.end))
+                .and("status").is(LeaveApprovalService.APPROVED)
+                .and("startDate").lte(month.end)
+                .and("endDate").gte(month.start))
+                .withHint("employeeMail_leaveWeeks");
+        query.fields().include("employeeMail", "leaveType", "startDate", "endDate");
+        return mongoTemplate.find(query, LeaveRequest.class);
+    }
+
+    // payslips already present (another node, or a retried chunk) count as written elsewhere
+    private long insert(List<Payslip> payslips) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payslip.class).insert(payslips).execute();
+            return payslips.size();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != 11000) throw e;
+            }
+            return payslips.size() - e.getErrors().size();
+        }
+    }
+
+    static Payslip payslip(Employee employee, Month month, List<Attendance> attendance, List<LeaveRequest> leave) {
+        boolean[] working = month.working;
+        // per day of the month: 0 no leave, 1 paid leave, 2 unpaid leave
+        byte[] onLeave = new byte[working.length];
+        for (LeaveRequest request : leave) {
+            // a request without both dates covers no day we could dock or excuse
+            if (request.getStartDate() == null || request.getEndDate() == null) continue;
+            byte kind = LeaveRequest.UNPAID.equals(request.getLeaveType()) ? (byte) 2 : (byte) 1;
+            LocalDate from = request.getStartDate().isBefore(month.start) ? month.start : request.getStartDate();
+            LocalDate to = request.getEndDate().isAfter(month.end) ? month.end : request.getEndDate();
+            for (int day = from.getDayOfMonth(); day <= to.getDayOfMonth(); day++) {
+                onLeave[day - 1] = (byte) Math.max(onLeave[day - 1], kind);
+            }
+        }
+
+        int unpaidLeaveDays = 0;
+        for (int i = 0; i < working.length; i++) {
+            if (working[i] && onLeave[i] == 2) unpaidLeaveDays++;
+        }
+        int absentDays = 0;
+        int halfDays = 0;
+        for (Attendance row : attendance) {
+            if (row.getDate() == null) continue;
+            int i = row.getDate().getDayOfMonth() - 1;
+            if (!working[i] || onLeave[i] != 0) continue;
+            if (ABSENT.equalsIgnoreCase(row.getStatus())) absentDays++;
+            else if (HALF_DAY.equalsIgnoreCase(row.getStatus())) halfDays++;
+        }
+
+        double unpaidDays = Math.min(month.workingDays, unpaidLeaveDays + absentDays + halfDays * 0.5);
+        BigDecimal base = BigDecimal.valueOf(employee.getSalary());
+        BigDecimal deduction = month.workingDays == 0 ? BigDecimal.ZERO
+                : base.multiply(BigDecimal.valueOf(unpaidDays))
+                        .divide(BigDecimal.valueOf(month.workingDays), 2, RoundingMode.HALF_UP);
+
+        Payslip payslip = new Payslip();
+        payslip.setRunId(month.runId);
+        payslip.setEmployeeMail(employee.getMail());
+        payslip.setName(employee.getName());
+        payslip.setDepartment(employee.getDepartment());
+        payslip.setBaseSalary(base.doubleValue());
+        payslip.setWorkingDays(month.workingDays);
+        payslip.setAbsentDays(absentDays);
+        payslip.setHalfDays(halfDays);
+        payslip.setUnpaidLeaveDays(unpaidLeaveDays);
+        payslip.setUnpaidDays(unpaidDays);
+        payslip.setDeduction(deduction.doubleValue());
+        payslip.setNetPay(base.subtract(deduction).setScale(2, RoundingMode.HALF_UP).doubleValue());
+        return payslip;
+    }
+
+    // streams the run's payslips in mail order from one cursor
+    public void export(YearMonth month, String format, Writer out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (csv) {
+            out.write("employeeMail,name,department,baseSalary,workingDays,absentDays,halfDays,"
+                    + "unpaidLeaveDays,unpaidDays,deduction,netPay\n");
+        }
+
+        Query query = new Query(where("runId").is(month.toString()))
+                .with(Sort.by("employeeMail")).cursorBatchSize(CHUNK_SIZE);
+        try (Stream<Payslip> rows = mongoTemplate.stream(query, Payslip.class)) {
+            rows.forEach(p -> {
+                try {
+                    if (csv) {
+                        out.write(String.join(",", csvField(p.getEmployeeMail()), csvField(p.getName()),
+                                csvField(p.getDepartment()), String.valueOf(p.getBaseSalary()),
+                                String.valueOf(p.getWorkingDays()), String.valueOf(p.getAbsentDays()),
+                                String.valueOf(p.getHalfDays()), String.valueOf(p.getUnpaidLeaveDays()),
+                                String.valueOf(p.getUnpaidDays()), String.valueOf(p.getDeduction()),
+                                String.valueOf(p.getNetPay())));
+                    } else {
+                        out.write(objectMapper.writeValueAsString(p));
+                    }
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // what every chunk of one run shares
+    static final class Month {
+        final String runId;
+        final LocalDate start;
+        final LocalDate end;
+        final boolean[] working;
+        final int workingDays;
+
+        Month(YearMonth month, boolean[] working) {
+            this.runId = month.toString();
+            this.start = month.atDay(1);
+            this.end = month.atEndOfMonth();
+            this.working = working;
+            int count = 0;
+            for (boolean w : working) if (w) count++;
+            this.workingDays = count;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Admin;
+import com.example.employeemanagement.model.Employee;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached principals when an Employee or Admin is written through the mapping layer.
+ * Deletes only carry the query, so a delete by id evicts that document and any other delete
+ * flushes the whole realm.
+ */
+@Component
+public class PrincipalCacheInvalidator extends AbstractMongoEventListener<Object> {
+
+    private final PrincipalService principalService;
+
+    public PrincipalCacheInvalidator(PrincipalService principalService) {
+        this.principalService = principalService;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof Employee employee) {
+            principalService.evict(PrincipalService.Realm.APP, employee.getId(), employee.getMail());
+        } else if (event.getSource() instanceof Admin admin) {
+            principalService.evict(PrincipalService.Realm.ADMIN, admin.getId(), admin.getUsername());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        PrincipalService.Realm realm;
+        if (Employee.class.equals(event.getType())) realm = PrincipalService.Realm.APP;
+        else if (Admin.class.equals(event.getType())) realm = PrincipalService.Realm.ADMIN;
+        else return;
+
+        Document query = event.getSource();
+        Object id = query.get("_id");
+        if (query.size() == 1 && id != null && !(id instanceof Document)) {
+            principalService.evict(realm, id.toString(), null);
+        } else {
+            principalService.evictAll(realm);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.repository.AdminRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one place admins and employees are resolved by login identifier. Lookups are cached
+ * (size- and TTL-bounded); unknown identifiers are cached too, for a shorter time, so bursts
+ * of bad usernames don't each reach Mongo. {@link PrincipalCacheInvalidator} evicts entries
+ * when an Employee or Admin is saved or deleted; the cache keys are indexed by document id,
+ * so an eviction touches only that document's entries, whatever identifiers they are under.
+ */
+@Service
+public class PrincipalService {
+
+    public enum Realm { ADMIN, APP }
+
+    private final AdminRepository adminRepository;
+    private final EmployeeRepository employeeRepository;
+    private final Cache<String, Optional<ResolvedUser>> cache;
+    // "realm:id" -> the cache keys holding that document (more than one after a mail change)
+    private final Map<String, Set<String>> keysById = new ConcurrentHashMap<>();
+
+    public PrincipalService(AdminRepository adminRepository,
+                            EmployeeRepository employeeRepository,
+                            @Value("${principal.cache.max-size:10000}") long maxSize,
+                            @Value("${principal.cache.ttl-seconds:300}") long ttlSeconds,
+                            @Value("${principal.cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.adminRepository = adminRepository;
+        this.employeeRepository = employeeRepository;
+        long ttl = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        long negativeTtl = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<ResolvedUser>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<ResolvedUser> user, long currentTime) {
+                        return user.isPresent() ? ttl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<ResolvedUser> user, long currentTime, long currentDuration) {
+                        return user.isPresent() ? ttl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<ResolvedUser> user, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .evictionListener((String key, Optional<ResolvedUser> user, RemovalCause cause) -> unindex(key, user))
+                .build();
+    }
+
+    public Optional<ResolvedUser> resolve(Realm realm, String identifier) {
+        if (identifier == null) return Optional.empty();
+        return cache.get(key(realm, identifier), k -> {
+            Optional<ResolvedUser> user = load(realm, identifier);
+            user.ifPresent(u -> keysById.computeIfAbsent(key(realm, u.getId()), i -> ConcurrentHashMap.newKeySet()).add(k));
+            return user;
+        });
+    }
+
+    public UserDetails loadUserDetails(Realm realm, String identifier) throws UsernameNotFoundException {
+        ResolvedUser user = resolve(realm, identifier).orElseThrow(() ->
+                new UsernameNotFoundException(realm == Realm.ADMIN ? "Admin not found" : "User not found"));
+        return new User(user.getUsername(), user.getPasswordHash(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole())));
+    }
+
+    // drops the entry for the identifier and any entry still pointing at the same document
+    public void evict(Realm realm, String id, String identifier) {
+        if (identifier != null) cache.invalidate(key(realm, identifier));
+        if (id != null) {
+            Set<String> keys = keysById.remove(key(realm, id));
+            if (keys != null) cache.invalidateAll(keys);
+        }
+    }
+
+    // only for bulk deletes and lost change streams, so a scan is fine here
+    public void evictAll(Realm realm) {
+        String prefix = realm.name() + ":";
+        cache.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+        keysById.keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    // size and expiry evictions; explicit ones clean the index themselves
+    private void unindex(String key, Optional<ResolvedUser> user) {
+        if (key == null || user == null || user.isEmpty()) return;
+        String idKey = key.substring(0, key.indexOf(':') + 1) + user.get().getId();
+        keysById.computeIfPresent(idKey, (i, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private Optional<ResolvedUser> load(Realm realm, String identifier) {
+        if (realm == Realm.ADMIN) {
+            return adminRepository.findByUsername(identifier)
+                    .map(a -> new ResolvedUser(a.getId(), a.getUsername(), a.getPassword(), "ADMIN", a.getUsername(), null, null));
+        }
+        return employeeRepository.findByMail(identifier)
+                .map(e -> new ResolvedUser(e.getId(), e.getMail(), e.getPass(), e.getRole(), e.getName(),
+                        e.getDepartment(), e.getJobRole()));
+    }
+
+    private static String key(Realm realm, String identifier) {
+        return realm.name() + ":" + identifier;
+    }
+
+    /**
+     * Immutable snapshot of a resolved admin or employee.
+     */
+    public static final class ResolvedUser {
+        private final String id;
+        private final String username;
+        private final String passwordHash;
+        private final String role;
+        private final String name;
+        private final String department;
+        private final String jobRole;
+
+        ResolvedUser(String id, String username, String passwordHash, String role, String name,
+                     String department, String jobRole) {
+            this.id = id;
+            this.username = username;
+            this.passwordHash = passwordHash;
+            this.role = role;
+            this.name = name;
+            this.department = department;
+            this.jobRole = jobRole;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPasswordHash() {
+            return passwordHash;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDepartment() {
+            return department;
+        }
+
+        public String getJobRole() {
+            return jobRole;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProfileStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the per-employee documents read on almost every page: Employee,
+ * EmployeeData and the LeaveBalance folded from the leave ledger, each keyed by mail. Misses
+ * are cached as well. Entries are evicted by {@link ProfileCacheInvalidator} on every
+ * save/delete through the mapping layer; code that writes these collections with MongoTemplate
+ * updates must call the evict methods itself. Hit/miss/eviction counts are published as
+ * {@code cache.*{cache=profile.*}}.
+ *
+ * <p>Returned objects are shared: read paths may serialize them but must not modify them.
+ * Read-modify-write code keeps reading from the repositories.
+ */
+@Service
+public class ProfileCache {
+
+    private final Region<Employee> employees;
+    private final Region<EmployeeData> employeeData;
+    private final Region<LeaveBalance> leaveBalances;
+
+    public ProfileCache(EmployeeRepository employeeRepository,
+                        ProfileStore profileStore,
+                        LeaveLedgerService leaveLedger,
+                        MeterRegistry meterRegistry,
+                        @Value("${profile.cache.max-size:20000}") long maxSize,
+                        @Value("${profile.cache.ttl-seconds:600}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.employees = new Region<>("profile.employee", maxSize, ttl, meterRegistry,
+                mail -> employeeRepository.findByMail(mail), Employee::getId);
+        this.employeeData = new Region<>("profile.employeeData", maxSize, ttl, meterRegistry,
+                mail -> Optional.ofNullable(profileStore.findByMail(mail)), EmployeeData::getId);
+        this.leaveBalances = new Region<>("profile.leaveBalance", maxSize, ttl, meterRegistry,
+                mail -> Optional.ofNullable(leaveLedger.balance(mail)), LeaveBalance::getId);
+    }
+
+    public Optional<Employee> employee(String mail) {
+        return employees.get(mail);
+    }
+
+    public EmployeeData employeeData(String mail) {
+        return employeeData.get(mail).orElse(null);
+    }
+
+    public LeaveBalance leaveBalance(String mail) {
+        return leaveBalances.get(mail).orElse(null);
+    }
+
+    public void evictEmployee(String id, String mail) {
+        employees.evict(id, mail);
+    }
+
+    public void evictEmployeeData(String id, String mail) {
+        employeeData.evict(id, mail);
+    }
+
+    public void evictLeaveBalance(String id, String mail) {
+        leaveBalances.evict(id, mail);
+    }
+
+    public void evictAll() {
+        employees.evictAll();
+        employeeData.evictAll();
+        leaveBalances.evictAll();
+    }
+
+    private static final class Region<T> {
+        private final Cache<String, Optional<T>> cache;
+        private final Function<String, Optional<T>> loader;
+        private final Function<T, String> idOf;
+        // id -> the mails it is cached under; more than one only while a mail change is in flight
+        private final Map<String, Set<String>> mailsById = new ConcurrentHashMap<>();
+
+        Region(String name, long maxSize, Duration ttl, MeterRegistry meterRegistry,
+               Function<String, Optional<T>> loader, Function<T, String> idOf) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .evictionListener((String mail, Optional<T> value, RemovalCause cause) -> unindex(mail, value))
+                    .build();
+            this.loader = loader;
+            this.idOf = idOf;
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        }
+
+        Optional<T> get(String mail) {
+            if (mail == null) return Optional.empty();
+            return cache.get(mail, m -> {
+                Optional<T> value = loader.apply(m);
+                value.map(idOf).ifPresent(id -> mailsById.computeIfAbsent(id, i -> ConcurrentHashMap.newKeySet()).add(m));
+                return value;
+            });
+        }
+
+        // by mail when known, and by id so a changed or missing mail can't leave a stale entry
+        void evict(String id, String mail) {
+            if (mail != null) unindex(mail, cache.asMap().remove(mail));
+            if (id != null) {
+                Set<String> mails = mailsById.remove(id);
+                if (mails != null) cache.invalidateAll(mails);
+            }
+        }
+
+        void evictAll() {
+            cache.invalidateAll();
+            mailsById.clear();
+        }
+
+        // drops one mail from its id's entry; size and expiry evictions arrive here through the listener
+        private void unindex(String mail, Optional<T> value) {
+            if (mail == null || value == null || value.isEmpty()) return;
+            String id = idOf.apply(value.get());
+            if (id == null) return;
+            mailsById.computeIfPresent(id, (i, mails) -> {
+                mails.remove(mail);
+                return mails.isEmpty() ? null : mails;
+            });
+        }
+    }
+}
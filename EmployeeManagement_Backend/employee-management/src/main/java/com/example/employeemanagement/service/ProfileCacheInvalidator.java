@@ -0,0 +1,61 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.model.LeaveLedgerEvent;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link ProfileCache} in step with every repository save and delete of Employee,
+ * EmployeeData and LeaveBalance, and every leave ledger append. Deletes other than by id
+ * flush the cache.
+ */
+@Component
+public class ProfileCacheInvalidator extends AbstractMongoEventListener<Object> {
+
+    private final ProfileCache profileCache;
+
+    public ProfileCacheInvalidator(ProfileCache profileCache) {
+        this.profileCache = profileCache;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Employee emp) {
+            profileCache.evictEmployee(emp.getId(), emp.getMail());
+            // an embedded profile travels with the employee document
+            profileCache.evictEmployeeData(emp.getId(), emp.getMail());
+        } else if (source instanceof EmployeeData data) {
+            profileCache.evictEmployeeData(data.getId(), data.getEmpMail());
+        } else if (source instanceof LeaveBalance balance) {
+            profileCache.evictLeaveBalance(balance.getId(), balance.getEmployeeMail());
+        } else if (source instanceof LeaveLedgerEvent entry) {
+            profileCache.evictLeaveBalance(null, entry.getEmployeeMail());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Class<?> type = event.getType();
+        if (type != Employee.class && type != EmployeeData.class && type != LeaveBalance.class) return;
+
+        Document query = event.getSource();
+        Object id = query.get("_id");
+        if (query.size() != 1 || id == null || id instanceof Document) {
+            profileCache.evictAll();
+        } else if (type == Employee.class) {
+            profileCache.evictEmployee(id.toString(), null);
+            profileCache.evictEmployeeData(id.toString(), null);
+        } else if (type == EmployeeData.class) {
+            profileCache.evictEmployeeData(id.toString(), null);
+        } else {
+            profileCache.evictLeaveBalance(id.toString(), null);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.employeemanagement.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Edge n-grams for type-ahead search: every field is split into lower-cased words and each
+ * word contributes its prefixes, so a query matches when each of its words starts some word
+ * of the employee.
+ */
+public final class SearchTerms {
+
+    static final int MAX_PREFIX = 20;
+
+    private SearchTerms() {
+    }
+
+    public static List<String> of(String... fields) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String field : fields) {
+            for (String word : words(field)) {
+                int max = Math.min(word.length(), MAX_PREFIX);
+                for (int i = 1; i <= max; i++) {
+                    terms.add(word.substring(0, i));
+                }
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    // query words, cut to the longest stored prefix; repeated words are only checked once
+    public static List<String> query(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            terms.add(word.length() > MAX_PREFIX ? word.substring(0, MAX_PREFIX) : word);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Holiday;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Working days: every day that is neither a weekly off-day ({@code workdays.off-days}) nor a
+ * holiday of the configured calendar ({@code workdays.calendar}, from the holidays collection).
+ *
+ * <p>Each year is turned into a prefix-sum table on first use, where {@code table[i]} is the
+ * number of working days among the year's first {@code i} days. Counting a range is then two
+ * lookups per year touched, with no walk over the days. Holiday writes drop the tables.
+ */
+@Service
+public class WorkingDayCalendar {
+
+    private final MongoTemplate mongoTemplate;
+    private final Set<DayOfWeek> offDays;
+    private final String calendar;
+    private final ConcurrentMap<Integer, int[]> years = new ConcurrentHashMap<>();
+
+    public WorkingDayCalendar(MongoTemplate mongoTemplate,
+                              @Value("${workdays.off-days:SATURDAY,SUNDAY}") String offDays,
+                              @Value("${workdays.calendar:default}") String calendar) {
+        this.mongoTemplate = mongoTemplate;
+        this.offDays = parseOffDays(offDays);
+        this.calendar = calendar;
+    }
+
+    public String getCalendar() {
+        return calendar;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        int[] table = table(date.getYear());
+        return table[date.getDayOfYear()] > table[date.getDayOfYear() - 1];
+    }
+
+    // working days in [start, end], both ends included; 0 when start is after end
+    public int businessDays(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) return 0;
+        if (start.getYear() == end.getYear()) {
+            int[] table = table(start.getYear());
+            return table[end.getDayOfYear()] - table[start.getDayOfYear() - 1];
+        }
+        int[] first = table(start.getYear());
+        int days = first[first.length - 1] - first[start.getDayOfYear() - 1];
+        for (int year = start.getYear() + 1; year < end.getYear(); year++) {
+            int[] full = table(year);
+            days += full[full.length - 1];
+        }
+        return days + table(end.getYear())[end.getDayOfYear()];
+    }
+
+    public void evictAll() {
+        years.clear();
+    }
+
+    // computeIfAbsent keeps an eviction from being overwritten by a build that started before it
+    private int[] table(int year) {
+        return years.computeIfAbsent(year, this::build);
+    }
+
+    private int[] build(int year) {
+        LocalDate first = LocalDate.ofYearDay(year, 1);
+        LocalDate last = first.plusYears(1).minusDays(1);
+        Query query = new Query(Criteria.where("calendar").is(calendar).and("date").gte(first).lte(last));
+        query.fields().include("date");
+        Set<LocalDate> holidays = new HashSet<>();
+        for (Holiday holiday : mongoTemplate.find(query, Holiday.class)) holidays.add(holiday.getDate());
+        return prefixSums(year, offDays, holidays);
+    }
+
+    static int[] prefixSums(int year, Set<DayOfWeek> offDays, Set<LocalDate> holidays) {
+        LocalDate day = LocalDate.ofYearDay(year, 1);
+        int[] table = new int[day.lengthOfYear() + 1];
+        for (int i = 1; i < table.length; i++, day = day.plusDays(1)) {
+            boolean working = !offDays.contains(day.getDayOfWeek()) && !holidays.contains(day);
+            table[i] = table[i - 1] + (working ? 1 : 0);
+        }
+        return table;
+    }
+
+    static Set<DayOfWeek> parseOffDays(String value) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : List.of(value.split(","))) {
+            if (!day.isBlank()) days.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+        }
+        return days;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Holiday;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the {@link WorkingDayCalendar} tables after any holiday save or delete: an edit can
+ * move a holiday to another year and a delete only carries its query. Tables rebuild lazily.
+ */
+@Component
+public class WorkingDayCalendarInvalidator extends AbstractMongoEventListener<Holiday> {
+
+    private final WorkingDayCalendar workingDayCalendar;
+
+    public WorkingDayCalendarInvalidator(WorkingDayCalendar workingDayCalendar) {
+        this.workingDayCalendar = workingDayCalendar;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Holiday> event) {
+        workingDayCalendar.evictAll();
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Holiday> event) {
+        workingDayCalendar.evictAll();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.config.MongoIndexInitializer;
+import com.example.employeemanagement.service.PrincipalService;
+import com.example.employeemanagement.service.ProfileCache;
+import com.example.employeemanagement.service.WorkingDayCalendar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base for tests against a real mongod. One container (a single-node replica set, so change
+ * streams and transactions work) is started for the whole run and shared by every subclass,
+ * and subclasses with the same properties share one application context as well. The
+ * database outlives each test class, so every test resets the collections it uses with
+ * {@link #resetCollections}.
+ *
+ * <p>Background work that would race the tests against the shared database (the clustered
+ * job sweep) is pushed out of reach.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "jobs.sweep-interval-ms=3600000")
+public abstract class MongoIntegrationTestBase {
+
+    @ServiceConnection
+    protected static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    static {
+        // runs on first use of a subclass, after the Docker check has let it through
+        mongo.start();
+    }
+
+    @Autowired
+    protected MongoTemplate mongoTemplate;
+
+    @Autowired
+    protected MongoIndexInitializer indexInitializer;
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    private PrincipalService principalService;
+
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
+
+    // drops the collections and recreates every declared index the drops took with them; a drop
+    // fires no mapping events, so the shared context's read caches are flushed by hand
+    protected void resetCollections(Class<?>... types) {
+        for (Class<?> type : types) mongoTemplate.dropCollection(type);
+        indexInitializer.ensureIndexes();
+        profileCache.evictAll();
+        principalService.evictAll(PrincipalService.Realm.APP);
+        principalService.evictAll(PrincipalService.Realm.ADMIN);
+        workingDayCalendar.evictAll();
+    }
+}
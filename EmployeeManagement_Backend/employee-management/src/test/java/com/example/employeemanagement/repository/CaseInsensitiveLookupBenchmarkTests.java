@@ -0,0 +1,67 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.config.MongoIndexInitializer;
+import com.example.employeemanagement.model.Employee;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Before/after cost of the role lookup behind attendance generation on a seeded collection:
+ * the old case-insensitive regex against equality under the role_ci collation index. The
+ * explain counters are exact, so a few thousand rows show the difference as well as a
+ * production-sized collection would.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CaseInsensitiveLookupBenchmarkTests extends MongoIntegrationTestBase {
+
+    private static final int EMPLOYEES = 5_000;
+    private static final String[] ROLES = {"EMPLOYEE", "employee", "Employee", "HR", "hr", "ADMIN"};
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeAll
+    void seed() {
+        resetCollections(Employee.class);
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            // about one in ten rows is an employee, the rest share a handful of other roles
+            String role = i % 10 < 1 ? ROLES[i % 3] : ROLES[3 + i % 3];
+            batch.add(new Document("mail", "user" + i + "@corp.com").append("name", "User " + i).append("role", role));
+        }
+        mongoTemplate.getCollection("employees").insertMany(batch);
+    }
+
+    @Test
+    void collationLookupExaminesOnlyMatchingKeys() {
+        Document regex = explain(new Document("find", "employees")
+                .append("filter", new Document("role", Pattern.compile("^EMPLOYEE$", Pattern.CASE_INSENSITIVE))));
+        Document collated = explain(new Document("find", "employees")
+                .append("filter", new Document("role", "EMPLOYEE"))
+                .append("collation", Document.parse(MongoIndexInitializer.CASE_INSENSITIVE)));
+
+        long matches = employeeRepository.findByRoleIgnoreCase("EMPLOYEE").size();
+
+        assertEquals(EMPLOYEES / 10, matches);
+        assertEquals(matches, (long) collated.getInteger("nReturned"));
+        assertEquals(matches, (long) collated.getInteger("totalDocsExamined"));
+        assertTrue(regex.getInteger("totalDocsExamined") + regex.getInteger("totalKeysExamined")
+                > collated.getInteger("totalDocsExamined") + collated.getInteger("totalKeysExamined"));
+    }
+
+    private Document explain(Document find) {
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find)
+                .append("verbosity", "executionStats"));
+        return explain.get("executionStats", Document.class);
+    }
+}
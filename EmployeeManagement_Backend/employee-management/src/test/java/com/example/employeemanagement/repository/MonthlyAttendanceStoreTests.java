@@ -0,0 +1,58 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.Attendance;
+import com.example.employeemanagement.model.AttendanceMonth;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlyAttendanceStoreTests {
+
+    @Test
+    void expandDecodesOnlyRecordedDaysInsideRange() {
+        char[] days = AttendanceMonth.EMPTY_DAYS.toCharArray();
+        days[0] = AttendanceMonth.codeOf("Present");
+        days[1] = AttendanceMonth.codeOf("Absent");
+        days[29] = AttendanceMonth.codeOf("Late");
+
+        AttendanceMonth month = new AttendanceMonth();
+        month.setEmployeeMail("a@corp.com");
+        month.setMonth("2025-06");
+        month.setDays(new String(days));
+
+        List<Attendance> rows = MonthlyAttendanceStore.expand(month, LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 30));
+
+        assertEquals(2, rows.size());
+        assertEquals(LocalDate.of(2025, 6, 2), rows.get(0).getDate());
+        assertEquals("Absent", rows.get(0).getStatus());
+        assertEquals(LocalDate.of(2025, 6, 30), rows.get(1).getDate());
+        assertEquals("Late", rows.get(1).getStatus());
+    }
+
+    @Test
+    void statusCodesRoundTripAndUnknownStatusesOverflow() {
+        for (String status : List.of("Absent", "Present", "Late", "Left Early")) {
+            assertEquals(status, AttendanceMonth.statusOf(AttendanceMonth.codeOf(status)));
+        }
+        assertNull(AttendanceMonth.statusOf(AttendanceMonth.NO_RECORD));
+        assertEquals(AttendanceMonth.OTHER, AttendanceMonth.codeOf("Sabbatical"));
+
+        char[] days = AttendanceMonth.EMPTY_DAYS.toCharArray();
+        days[4] = AttendanceMonth.OTHER;
+        AttendanceMonth month = new AttendanceMonth();
+        month.setEmployeeMail("a@corp.com");
+        month.setMonth("2025-06");
+        month.setDays(new String(days));
+        month.setOtherStatuses(Map.of("5", "Sabbatical"));
+
+        List<Attendance> rows = MonthlyAttendanceStore.expand(month, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30));
+
+        assertEquals(1, rows.size());
+        assertEquals(LocalDate.of(2025, 6, 5), rows.get(0).getDate());
+        assertEquals("Sabbatical", rows.get(0).getStatus());
+    }
+}
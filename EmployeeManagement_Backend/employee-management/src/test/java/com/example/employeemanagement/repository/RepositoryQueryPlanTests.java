@@ -0,0 +1,175 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls every query method of every repository against a real mongod, records the command the
+ * driver actually sent, and explains that command; fails if any winning plan is a COLLSCAN.
+ * A new repository method is covered as soon as it exists, provided its parameter types have
+ * a sample value in {@link #sample}.
+ */
+class RepositoryQueryPlanTests extends MongoIntegrationTestBase {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "count", "aggregate", "distinct");
+
+    @TestConfiguration
+    static class RecordCommands {
+        @Bean
+        CommandRecorder commandRecorder() {
+            return new CommandRecorder();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer recordingListener(CommandRecorder recorder) {
+            return settings -> settings.addCommandListener(recorder);
+        }
+    }
+
+    static final class CommandRecorder implements CommandListener {
+        private final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            // the event's document is only valid during the callback
+            if (QUERY_COMMANDS.contains(event.getCommandName())) commands.add(event.getCommand().clone());
+        }
+
+        // the query commands sent to the collection since the last call
+        List<BsonDocument> drain(String collection) {
+            List<BsonDocument> sent = new ArrayList<>();
+            for (BsonDocument command : commands) {
+                BsonValue target = command.get(command.getFirstKey());
+                if (target.isString() && target.asString().getValue().equals(collection)) sent.add(command);
+            }
+            commands.clear();
+            return sent;
+        }
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private CommandRecorder recorder;
+
+    @BeforeEach
+    void createIndexes() {
+        indexInitializer.ensureIndexes();
+    }
+
+    @Test
+    void noRepositoryQueryFallsBackToCollectionScan() throws Exception {
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> checked = new ArrayList<>();
+        List<String> silent = new ArrayList<>();
+        List<String> scans = new ArrayList<>();
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation info = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            String collection = mongoTemplate.getCollectionName(domainType);
+
+            for (Method method : info.getQueryMethods()) {
+                String key = info.getRepositoryInterface().getSimpleName() + "#" + method.getName();
+                Object[] args = new Object[method.getParameterCount()];
+                for (int i = 0; i < args.length; i++) args[i] = sample(method.getParameterTypes()[i], key);
+
+                recorder.drain(collection);
+                method.invoke(repository, args);
+                List<BsonDocument> sent = recorder.drain(collection);
+                if (sent.isEmpty()) silent.add(key);
+                for (BsonDocument command : sent) {
+                    if (containsCollectionScan(explain(command))) scans.add(key + " " + command.toJson());
+                }
+                checked.add(key);
+            }
+        }
+
+        assertFalse(checked.isEmpty(), "No repository query methods found");
+        assertTrue(silent.isEmpty(), "No query recorded for " + silent);
+        assertTrue(scans.isEmpty(), "Collection scans for " + scans);
+    }
+
+    @Test
+    void uniqueIndexOverDuplicatesFailsStartup() {
+        mongoTemplate.dropCollection("admins");
+        mongoTemplate.getCollection("admins").insertMany(List.of(
+                new Document("username", "root"), new Document("username", "root")));
+        try {
+            IllegalStateException failure = assertThrows(IllegalStateException.class, indexInitializer::ensureIndexes);
+            assertTrue(failure.getMessage().contains("admins"), failure.getMessage());
+        } finally {
+            mongoTemplate.dropCollection("admins");
+            indexInitializer.ensureIndexes();
+        }
+    }
+
+    private static Object sample(Class<?> type, String method) {
+        if (type == String.class) return "a@corp.com";
+        if (type == LocalDate.class) return LocalDate.of(2025, 6, 2);
+        throw new AssertionError("No sample argument of type " + type.getSimpleName() + " for " + method);
+    }
+
+    // the recorded command minus the session and routing fields the driver adds
+    private Document explain(BsonDocument command) {
+        BsonDocument query = new BsonDocument();
+        for (String field : command.keySet()) {
+            if (!field.startsWith("$") && !field.equals("lsid")) query.put(field, command.get(field));
+        }
+        return mongoTemplate.getDb().runCommand(new BsonDocument("explain", query)
+                .append("verbosity", new BsonString("queryPlanner")));
+    }
+
+    // looks only inside winning plans, wherever the command type nests them
+    private static boolean containsCollectionScan(Object node) {
+        if (node instanceof Document doc) {
+            for (String field : doc.keySet()) {
+                Object child = doc.get(field);
+                if (field.equals("winningPlan") ? containsStage(child, "COLLSCAN") : containsCollectionScan(child)) return true;
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (containsCollectionScan(child)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document doc) {
+            if (stage.equals(doc.get("stage"))) return true;
+            for (Object child : doc.values()) {
+                if (containsStage(child, stage)) return true;
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (containsStage(child, stage)) return true;
+            }
+        }
+        return false;
+    }
+}
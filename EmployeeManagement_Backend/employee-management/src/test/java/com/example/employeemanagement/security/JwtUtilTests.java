@@ -0,0 +1,50 @@
+package com.example.employeemanagement.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTests {
+
+    static final String SECRET = "QWZnc2Rmbmhqa2FzamRmbmphc2RmanM0NDMyNDMyNDMyNDMyNDMyNDMyNDMyNDMyNDMyNDMyNA==";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+
+    @Test
+    void verifiesSubjectAndRoleOnce() {
+        String token = jwtUtil.generateToken("a@corp.com", "ROLE_HR");
+
+        JwtUtil.VerifiedToken first = jwtUtil.verify(token).orElseThrow();
+        assertEquals("a@corp.com", first.getUsername());
+        assertEquals("HR", first.getRole());
+        // the second lookup is served from the cache
+        assertSame(first, jwtUtil.verify(token).orElseThrow());
+        assertEquals("HR", jwtUtil.extractRole(token));
+    }
+
+    @Test
+    void rejectsTamperedExpiredAndForeignTokens() {
+        String token = jwtUtil.generateToken("a@corp.com", "EMPLOYEE");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String expired = Jwts.builder()
+                .setSubject("a@corp.com")
+                .claim("role", "EMPLOYEE")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        String foreign = new JwtUtil("b3RoZXJzZWNyZXRvdGhlcnNlY3JldG90aGVyc2VjcmV0b3RoZXJzZWNyZXQ=", 10)
+                .generateToken("a@corp.com", "ADMIN");
+
+        assertTrue(jwtUtil.verify(tampered).isEmpty());
+        assertTrue(jwtUtil.verify(expired).isEmpty());
+        assertTrue(jwtUtil.verify(foreign).isEmpty());
+        assertTrue(jwtUtil.verify("not-a-jwt").isEmpty());
+        assertFalse(jwtUtil.isTokenValid(null));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.employeemanagement.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token: the old filter path (three parser
+ * builds and three signature checks), a single uncached parse, and a cache hit.
+ * Run with {@code mvn test-compile exec:exec}; the pom points exec:exec at this class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private JwtUtil jwtUtil;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(JwtUtilTests.SECRET, 10_000);
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtUtilTests.SECRET));
+        token = jwtUtil.generateToken("a@corp.com", "EMPLOYEE");
+        jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public void previousFilterPath(Blackhole bh) {
+        bh.consume(!legacyClaims().getExpiration().before(new Date()));
+        bh.consume(legacyClaims().getSubject());
+        bh.consume(legacyClaims().get("role", String.class));
+    }
+
+    @Benchmark
+    public JwtUtil.VerifiedToken singleParse() {
+        return jwtUtil.parse(token);
+    }
+
+    @Benchmark
+    public Object cachedVerify() {
+        return jwtUtil.verify(token).orElseThrow();
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtVerificationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
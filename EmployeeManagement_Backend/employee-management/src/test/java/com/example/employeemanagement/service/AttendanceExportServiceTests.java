@@ -0,0 +1,88 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.Attendance;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports write one line per row: quoted CSV fields where a value needs it, NDJSON that reads
+ * back as the row. A range export leaves out its end dates, the same as {@code /range}.
+ */
+class AttendanceExportServiceTests extends MongoIntegrationTestBase {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2025, 6, 1);
+    private static final String ODD_MAIL = "o\"brien,ops@corp.com";
+
+    @Autowired
+    private AttendanceExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(Attendance.class);
+        for (int day = 0; day < 4; day++) {
+            insert("asha@corp.com", JUNE_1.plusDays(day), "Present");
+            insert(ODD_MAIL, JUNE_1.plusDays(day), "Leave, \"sick\"");
+        }
+    }
+
+    @Test
+    void csvQuotesFieldsAndLeavesOutTheEndDates() throws Exception {
+        StringWriter out = new StringWriter();
+        exportService.exportRange(JUNE_1, JUNE_1.plusDays(3), "csv", out);
+
+        List<String> lines = new ArrayList<>(Arrays.asList(out.toString().split("\n")));
+        assertEquals("employeeMail,date,status", lines.remove(0));
+        lines.sort(null);
+        assertEquals(List.of(
+                "\"o\"\"brien,ops@corp.com\",2025-06-02,\"Leave, \"\"sick\"\"\"",
+                "\"o\"\"brien,ops@corp.com\",2025-06-03,\"Leave, \"\"sick\"\"\"",
+                "asha@corp.com,2025-06-02,Present",
+                "asha@corp.com,2025-06-03,Present"), lines);
+    }
+
+    @Test
+    void adjacentEndDatesExportNothing() throws Exception {
+        StringWriter out = new StringWriter();
+        exportService.exportRange(JUNE_1, JUNE_1.plusDays(1), "csv", out);
+        assertEquals("employeeMail,date,status\n", out.toString());
+    }
+
+    @Test
+    void ndjsonReadsBackAsTheDaysRows() throws Exception {
+        StringWriter out = new StringWriter();
+        exportService.exportDay(JUNE_1, "ndjson", out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        List<String> mails = new ArrayList<>();
+        for (String line : lines) {
+            Attendance row = objectMapper.readValue(line, Attendance.class);
+            assertEquals(JUNE_1, row.getDate());
+            mails.add(row.getEmployeeMail());
+        }
+        mails.sort(null);
+        assertEquals(List.of("asha@corp.com", ODD_MAIL), mails);
+    }
+
+    private void insert(String mail, LocalDate date, String status) {
+        Attendance row = new Attendance();
+        row.setEmployeeMail(mail);
+        row.setDate(date);
+        row.setStatus(status);
+        mongoTemplate.insert(row);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.dto.AttendanceGenerationResult;
+import com.example.employeemanagement.model.Attendance;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Holiday;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * The cron run and the manual endpoint may generate the same day at the same time: every
+ * employee still ends up with exactly one row, and each run accounts for every employee as
+ * either inserted by it or already there.
+ */
+class AttendanceGenerationServiceTests extends MongoIntegrationTestBase {
+
+    // more than two chunks, so the runs interleave
+    private static final int EMPLOYEES = AttendanceGenerationService.CHUNK_SIZE * 2 + 500;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+
+    @Autowired
+    private AttendanceGenerationService generationService;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(Employee.class, Attendance.class, Holiday.class);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setMail("emp" + i + "@corp.com");
+            employee.setRole("EMPLOYEE");
+            employees.add(employee);
+        }
+        // an HR user gets no default row
+        Employee hr = new Employee();
+        hr.setMail("hr@corp.com");
+        hr.setRole("HR");
+        employees.add(hr);
+        mongoTemplate.insertAll(employees);
+    }
+
+    @Test
+    void concurrentRunsWriteOneRowPerEmployee() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AttendanceGenerationResult>> runs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            runs.add(pool.submit(() -> {
+                start.await();
+                return generationService.generateFor(MONDAY);
+            }));
+        }
+        start.countDown();
+
+        int inserted = 0;
+        for (Future<AttendanceGenerationResult> run : runs) {
+            AttendanceGenerationResult result = run.get();
+            assertEquals(EMPLOYEES, result.getInserted() + result.getExisting());
+            inserted += result.getInserted();
+        }
+        pool.shutdown();
+
+        assertEquals(EMPLOYEES, inserted);
+        assertEquals(EMPLOYEES, mongoTemplate.count(new Query(where("date").is(MONDAY)), Attendance.class));
+        assertEquals(EMPLOYEES, mongoTemplate.findDistinct(new Query(where("date").is(MONDAY)),
+                "employeeMail", Attendance.class, String.class).size());
+        assertEquals(0, mongoTemplate.count(new Query(where("employeeMail").is("hr@corp.com")), Attendance.class));
+
+        AttendanceGenerationResult again = generationService.generateFor(MONDAY);
+        assertEquals(0, again.getInserted());
+        assertEquals(EMPLOYEES, again.getExisting());
+    }
+}
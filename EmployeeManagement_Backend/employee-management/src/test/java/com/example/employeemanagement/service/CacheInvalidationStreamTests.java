@@ -0,0 +1,63 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.LeaveBalance;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes that bypass this node's mapping events (as another node's would) must still evict
+ * the local entries. MongoDBContainer runs a single-node replica set, which change streams need.
+ */
+@SpringBootTest(properties = "cache.invalidation.change-streams=true")
+class CacheInvalidationStreamTests extends MongoIntegrationTestBase {
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    private PrincipalService principalService;
+
+    @BeforeEach
+    void clean() {
+        // emptied rather than dropped: a drop would end the change stream under test
+        for (String collection : List.of("leave_balances", "leave_ledger", "admins")) {
+            mongoTemplate.getCollection(collection).deleteMany(new Document());
+        }
+    }
+
+    @Test
+    void foreignWritesEvictLocalEntries() throws InterruptedException {
+        mongoTemplate.getCollection("leave_balances").insertOne(
+                new Document("employeeMail", "a@corp.com").append("annualLeave", 15));
+        waitFor(() -> {
+            LeaveBalance balance = profileCache.leaveBalance("a@corp.com");
+            return balance != null && balance.getAnnualLeave() == 15;
+        });
+
+        // a raw driver update, invisible to the mapping-event invalidators
+        mongoTemplate.getCollection("leave_balances").updateOne(
+                new Document("employeeMail", "a@corp.com"), new Document("$set", new Document("annualLeave", 9)));
+        waitFor(() -> profileCache.leaveBalance("a@corp.com").getAnnualLeave() == 9);
+
+        assertTrue(principalService.resolve(PrincipalService.Realm.ADMIN, "root").isEmpty());
+        mongoTemplate.getCollection("admins").insertOne(new Document("username", "root").append("password", "x"));
+        waitFor(() -> principalService.resolve(PrincipalService.Realm.ADMIN, "root").isPresent());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "cache was not invalidated in time");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.Attendance;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Holiday;
+import com.example.employeemanagement.model.JobLease;
+import com.example.employeemanagement.model.JobPartition;
+import com.example.employeemanagement.model.JobRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Several nodes firing the midnight job at once write each row exactly once, and a node that
+ * dies holding a partition does not stall the run. Each node is its own {@link ClusterJobRunner}
+ * with its own node id; they share nothing but the database, as separate instances would.
+ * 2025-06-02 is a Monday.
+ */
+class ClusterJobRunnerTests extends MongoIntegrationTestBase {
+
+    private static final String DAY = "2025-06-02";
+    private static final int EMPLOYEES = 3_500;
+    private static final int NODES = 4;
+
+    @Autowired
+    private DailyAttendanceJob attendanceJob;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(Employee.class, Attendance.class, Holiday.class,
+                JobLease.class, JobRun.class, JobPartition.class);
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setMail("emp" + i + "@corp.com");
+            employee.setRole("EMPLOYEE");
+            employees.add(employee);
+        }
+        mongoTemplate.insertAll(employees);
+    }
+
+    @Test
+    void concurrentTriggersRunOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(NODES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<JobRun>> results = new ArrayList<>();
+        for (int n = 0; n < NODES; n++) {
+            ClusterJobRunner node = node("node-" + n, attendanceJob, 60);
+            results.add(pool.submit(() -> {
+                start.await();
+                return node.trigger(DailyAttendanceJob.NAME, DAY);
+            }));
+        }
+        start.countDown();
+        for (Future<JobRun> result : results) result.get();
+        pool.shutdown();
+
+        assertEquals(1, mongoTemplate.count(new Query(), JobRun.class));
+        JobRun run = mongoTemplate.findById(DailyAttendanceJob.NAME + ":" + DAY, JobRun.class);
+        assertNotNull(run);
+        assertEquals(JobRun.COMPLETED, run.getStatus());
+        assertEquals(EMPLOYEES, run.getRows());
+        assertEquals(0, run.getFailures());
+        assertEquals(EMPLOYEES, mongoTemplate.count(new Query(), Attendance.class));
+        assertEquals(run.getPartitions(), mongoTemplate.count(new Query(where("status").is(JobPartition.DONE)), JobPartition.class));
+    }
+
+    @Test
+    void partitionOfACrashedNodeIsTakenOver() throws Exception {
+        // dies mid-partition without touching the claim, like a killed JVM
+        ClusteredJob dying = new ClusteredJob() {
+            public String name() { return DailyAttendanceJob.NAME; }
+            public int partitions() { return attendanceJob.partitions(); }
+            public long process(String runKey, String lowerId, String upperId, Runnable heartbeat) {
+                throw new OutOfMemoryError("simulated crash");
+            }
+        };
+        ClusterJobRunner crashed = node("crashed", dying, 1);
+        assertThrows(OutOfMemoryError.class, () -> crashed.trigger(DailyAttendanceJob.NAME, DAY));
+
+        String runId = DailyAttendanceJob.NAME + ":" + DAY;
+        JobPartition orphan = mongoTemplate.findById(runId + "#0", JobPartition.class);
+        assertEquals(JobPartition.CLAIMED, orphan.getStatus());
+        assertEquals("crashed", orphan.getOwner());
+
+        Thread.sleep(1_500);
+        ClusterJobRunner survivor = node("survivor", attendanceJob, 60);
+        survivor.sweep();
+
+        JobRun run = mongoTemplate.findById(runId, JobRun.class);
+        assertEquals(JobRun.COMPLETED, run.getStatus());
+        assertEquals(EMPLOYEES, run.getRows());
+        assertEquals(EMPLOYEES, mongoTemplate.count(new Query(), Attendance.class));
+        JobPartition recovered = mongoTemplate.findById(runId + "#0", JobPartition.class);
+        assertEquals("survivor", recovered.getOwner());
+        assertEquals(2, recovered.getAttempts());
+    }
+
+    private ClusterJobRunner node(String nodeId, ClusteredJob job, long leaseTtlSeconds) {
+        return new ClusterJobRunner(mongoTemplate, List.of(job), nodeId, leaseTtlSeconds);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.DepartmentStats;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.repository.EmployeeDataRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository writes keep the rollups current through deltas, including moves between
+ * departments, profile edits and deletes, and a full rebuild lands on the same figures.
+ */
+class DepartmentStatsServiceTests extends MongoIntegrationTestBase {
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+    @Autowired
+    private EmployeeDataRepository employeeDataRepo;
+
+    @Autowired
+    private DepartmentStatsService departmentStats;
+
+    @BeforeEach
+    void clean() {
+        resetCollections(Employee.class, EmployeeData.class, DepartmentStats.class);
+    }
+
+    private Employee employee(String mail, String department, Double salary) {
+        Employee employee = new Employee();
+        employee.setMail(mail);
+        employee.setDepartment(department);
+        employee.setSalary(salary);
+        return employeeRepo.save(employee);
+    }
+
+    private void profile(String mail, String gender, int age) {
+        EmployeeData data = new EmployeeData();
+        data.setEmpMail(mail);
+        data.setGender(gender);
+        data.setDob(LocalDate.now().minusYears(age).minusDays(1));
+        employeeDataRepo.save(data);
+    }
+
+    @Test
+    void writesKeepRollupsCurrent() {
+        Employee a = employee("a@corp.com", "Engineering", 100.0);
+        Employee b = employee("b@corp.com", "Engineering", 200.0);
+        employee("c@corp.com", "Sales", null);
+        profile("a@corp.com", "Female", 30);
+        profile("b@corp.com", "male", 22);
+
+        DepartmentStats engineering = departmentStats.of("Engineering");
+        assertEquals(2, engineering.getHeadcount());
+        assertEquals(300.0, engineering.getSalaryTotal());
+        assertEquals(150.0, engineering.getAverageSalary());
+        assertEquals(Map.of("female", 1L, "male", 1L), engineering.getGenders());
+        assertEquals(Map.of("25-34", 1L, "<25", 1L), engineering.getAgeBands());
+
+        DepartmentStats sales = departmentStats.of("Sales");
+        assertEquals(1, sales.getHeadcount());
+        assertNull(sales.getAverageSalary());
+        assertEquals(Map.of(DepartmentStatsService.UNKNOWN, 1L), sales.getGenders());
+
+        b.setDepartment("Sales");
+        employeeRepo.save(b);
+        assertEquals(1, departmentStats.of("Engineering").getHeadcount());
+        // the counts that reached zero are dropped, not left behind as zeros
+        assertEquals(Map.of("female", 1L), departmentStats.of("Engineering").getGenders());
+        assertEquals(Map.of("25-34", 1L), departmentStats.of("Engineering").getAgeBands());
+        assertEquals(2, departmentStats.of("Sales").getHeadcount());
+        assertEquals(200.0, departmentStats.of("Sales").getSalaryTotal());
+
+        employeeRepo.deleteById(a.getId());
+        assertNull(departmentStats.of("Engineering"));
+
+        List<DepartmentStats> incremental = departmentStats.all();
+        assertEquals(1, departmentStats.rebuild());
+        List<DepartmentStats> rebuilt = departmentStats.all();
+        assertEquals(incremental.size(), rebuilt.size());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(incremental.get(i).getDepartment(), rebuilt.get(i).getDepartment());
+            assertEquals(incremental.get(i).getHeadcount(), rebuilt.get(i).getHeadcount());
+            assertEquals(incremental.get(i).getSalaryTotal(), rebuilt.get(i).getSalaryTotal());
+            assertEquals(incremental.get(i).getGenders(), rebuilt.get(i).getGenders());
+            assertEquals(incremental.get(i).getAgeBands(), rebuilt.get(i).getAgeBands());
+        }
+    }
+
+    @Test
+    void salaryAndProfileEditsMoveOnlyTheirFigures() {
+        Employee a = employee("a@corp.com", "Engineering", 100.0);
+        employee("b@corp.com", "Engineering", null);
+        profile("a@corp.com", "Female", 30);
+
+        a.setSalary(150.0);
+        employeeRepo.save(a);
+        DepartmentStats engineering = departmentStats.of("Engineering");
+        assertEquals(2, engineering.getHeadcount());
+        assertEquals(1, engineering.getSalariedCount());
+        assertEquals(150.0, engineering.getSalaryTotal());
+        assertEquals(Map.of("female", 1L, DepartmentStatsService.UNKNOWN, 1L), engineering.getGenders());
+
+        EmployeeData data = employeeDataRepo.findByEmpMail("a@corp.com");
+        data.setGender("male");
+        employeeDataRepo.save(data);
+        assertEquals(Map.of("male", 1L, DepartmentStatsService.UNKNOWN, 1L), departmentStats.of("Engineering").getGenders());
+
+        employeeDataRepo.deleteById(data.getId());
+        engineering = departmentStats.of("Engineering");
+        assertEquals(Map.of(DepartmentStatsService.UNKNOWN, 2L), engineering.getGenders());
+        assertEquals(Map.of(DepartmentStatsService.UNKNOWN, 2L), engineering.getAgeBands());
+        assertEquals(150.0, engineering.getSalaryTotal());
+
+        a.setSalary(null);
+        employeeRepo.save(a);
+        engineering = departmentStats.of("Engineering");
+        assertEquals(0, engineering.getSalariedCount());
+        assertNull(engineering.getAverageSalary());
+    }
+
+    @Test
+    void ageBands() {
+        LocalDate today = LocalDate.of(2025, 6, 15);
+        assertEquals("<25", DepartmentStatsService.ageBand(LocalDate.of(2000, 6, 16), today));
+        assertEquals("25-34", DepartmentStatsService.ageBand(LocalDate.of(2000, 6, 15), today));
+        assertEquals("55+", DepartmentStatsService.ageBand(LocalDate.of(1960, 1, 1), today));
+        assertEquals(DepartmentStatsService.UNKNOWN, DepartmentStatsService.ageBand(null, today));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.dto.EmployeeProfileDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Filters apply before paging, so every page holds only matches and the total counts all of
+ * them; role, department and gender match whatever their case, and an age is a DOB range.
+ */
+class EmployeeDirectoryServiceTests extends MongoIntegrationTestBase {
+
+    private static final String[] ROLES = {"Employee", "EMPLOYEE", "employee", "HR"};
+    private static final String[] DEPARTMENTS = {"Engineering", "engineering", "Sales"};
+
+    @Autowired
+    private EmployeeDirectoryService directoryService;
+
+    private final List<String> engineers = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        resetCollections(Employee.class, EmployeeData.class);
+        engineers.clear();
+        for (int i = 0; i < 24; i++) {
+            String role = ROLES[i % ROLES.length];
+            String department = DEPARTMENTS[i % DEPARTMENTS.length];
+            String mail = String.format("user%02d@corp.com", i);
+            insert(mail, role, department, i % 2 == 0 ? "Female" : "male", LocalDate.now().minusYears(20 + i));
+            if (!role.equals("HR") && !department.equals("Sales")) engineers.add(mail);
+        }
+    }
+
+    @Test
+    void filtersApplyBeforePaging() {
+        assertEquals(12, engineers.size());
+        List<String> mails = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<EmployeeProfileDTO> result = directoryService.search(null, "EMPLOYEE", null, "engineering", null,
+                    PageRequest.of(page, 5, Sort.by("mail")));
+            assertEquals(engineers.size(), result.getTotalElements());
+            assertEquals(page < 2 ? 5 : 2, result.getContent().size());
+            for (EmployeeProfileDTO profile : result.getContent()) {
+                assertTrue(profile.getEmployee().getRole().equalsIgnoreCase("employee"));
+                assertNotNull(profile.getEmployeeData(), "profile joined for " + profile.getEmployee().getMail());
+                mails.add(profile.getEmployee().getMail());
+            }
+        }
+        assertEquals(engineers, mails);
+    }
+
+    @Test
+    void genderMatchesWhateverItsCase() {
+        Page<EmployeeProfileDTO> result = directoryService.search("MALE", null, null, null, null,
+                PageRequest.of(0, 50, Sort.by("mail")));
+        assertEquals(12, result.getTotalElements());
+        for (EmployeeProfileDTO profile : result.getContent()) {
+            assertEquals("male", profile.getEmployeeData().getGender());
+        }
+    }
+
+    @Test
+    void ageBecomesADateOfBirthRange() {
+        resetCollections(Employee.class, EmployeeData.class);
+        LocalDate today = LocalDate.now();
+        insert("turned30today@corp.com", "Employee", "Sales", "Female", today.minusYears(30));
+        insert("turns31tomorrow@corp.com", "Employee", "Sales", "Female", today.minusYears(31).plusDays(1));
+        insert("turned31today@corp.com", "Employee", "Sales", "Female", today.minusYears(31));
+        insert("turns30tomorrow@corp.com", "Employee", "Sales", "Female", today.minusYears(30).plusDays(1));
+
+        Page<EmployeeProfileDTO> result = directoryService.search(null, null, null, null, 30,
+                PageRequest.of(0, 10, Sort.by("mail")));
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of("turned30today@corp.com", "turns31tomorrow@corp.com"),
+                result.getContent().stream().map(p -> p.getEmployee().getMail()).toList());
+    }
+
+    @Test
+    void onlyWhitelistedSortFieldsAreAccepted() {
+        PageRequest byPass = PageRequest.of(0, 10, Sort.by("pass"));
+        assertThrows(IllegalArgumentException.class,
+                () -> directoryService.search(null, null, null, null, null, byPass));
+        assertThrows(IllegalArgumentException.class,
+                () -> directoryService.searchAfter(null, null, null, null, null, byPass, null));
+    }
+
+    private void insert(String mail, String role, String department, String gender, LocalDate dob) {
+        Employee employee = new Employee();
+        employee.setMail(mail);
+        employee.setRole(role);
+        employee.setDepartment(department);
+        employee.setName(mail.substring(0, mail.indexOf('@')));
+        mongoTemplate.insert(employee);
+
+        EmployeeData data = new EmployeeData();
+        data.setEmpMail(mail);
+        data.setGender(gender);
+        data.setDob(dob);
+        mongoTemplate.insert(data);
+    }
+}
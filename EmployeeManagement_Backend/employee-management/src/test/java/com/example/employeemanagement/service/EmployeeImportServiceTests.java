@@ -0,0 +1,97 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.dto.EmployeeImportResult;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.model.LeaveLedgerEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Good rows become an employee, a profile and an opening balance; bad rows are reported by
+ * line and leave the rest of the import untouched, across batch boundaries.
+ */
+@SpringBootTest(properties = "onboarding.import.hash-threads=4")
+class EmployeeImportServiceTests extends MongoIntegrationTestBase {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EmployeeImportService importService;
+
+    @BeforeEach
+    void clean() {
+        resetCollections(Employee.class, EmployeeData.class, LeaveBalance.class, LeaveLedgerEvent.class);
+
+        Employee existing = new Employee();
+        existing.setMail("taken@corp.com");
+        mongoTemplate.insert(existing);
+    }
+
+    @Test
+    void csvImportReportsBadRowsAndKeepsGoodOnes() throws Exception {
+        StringBuilder csv = new StringBuilder("mail,pass,name,department,salary,dob,address\n");
+        int good = EmployeeImportService.BATCH_SIZE + 20;
+        for (int i = 0; i < good; i++) {
+            csv.append("user").append(i).append("@corp.com,secret").append(i)
+                    .append(",User ").append(i).append(",Engineering,1000,1990-01-02,\"1 Main St, Springfield\"\n");
+        }
+        csv.append("taken@corp.com,x,Dup,Sales,,,\n");          // already in the collection
+        csv.append("user0@corp.com,x,Again,Sales,,,\n");         // earlier in this file
+        csv.append("nomail,x,Bad,Sales,,,\n");
+        csv.append("ok@corp.com,x,Bad Salary,Sales,lots,,\n");
+        csv.append("short@corp.com,x\n");
+        csv.append("long@corp.com,").append("x".repeat(73)).append(",Long Pass,Sales,,,\n");   // past BCrypt's limit
+
+        EmployeeImportResult result = importService.importEmployees(new StringReader(csv.toString()), EmployeeImportService.Format.CSV);
+
+        assertEquals(good + 6, result.getRowsRead());
+        assertEquals(good, result.getCreated());
+        assertEquals(6, result.getRejected().size(), result.getRejected().toString());
+        String takenLine = "line " + (good + 2) + " (taken@corp.com)";
+        assertTrue(result.getRejected().stream().anyMatch(r -> r.startsWith(takenLine)), result.getRejected().toString());
+
+        assertEquals(good + 1, mongoTemplate.count(new Query(), Employee.class));
+        assertEquals(good, mongoTemplate.count(new Query(), EmployeeData.class));
+        assertEquals(good, mongoTemplate.count(new Query(), LeaveBalance.class));
+
+        Employee user = mongoTemplate.findOne(new Query(where("mail").is("user7@corp.com")), Employee.class);
+        assertEquals("EMPLOYEE", user.getRole());
+        assertTrue(passwordEncoder.matches("secret7", user.getPass()));
+        assertFalse(user.getSearchTerms().isEmpty());
+        EmployeeData data = mongoTemplate.findOne(new Query(where("empMail").is("user7@corp.com")), EmployeeData.class);
+        assertEquals("1 Main St, Springfield", data.getAddress());
+    }
+
+    @Test
+    void ndjsonImportSkipsMalformedLines() throws Exception {
+        String ndjson = String.join("\n", List.of(
+                "{\"mail\":\"a@corp.com\",\"pass\":\"p\",\"name\":\"A\",\"salary\":1200.5}",
+                "{not json",
+                "",
+                "{\"mail\":\"b@corp.com\",\"pass\":\"p\"}"));
+
+        EmployeeImportResult result = importService.importEmployees(new StringReader(ndjson), EmployeeImportService.Format.NDJSON);
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of("line 2: not a JSON object"), result.getRejected());
+        assertEquals(1200.5, mongoTemplate.findOne(new Query(where("mail").is("a@corp.com")), Employee.class).getSalary());
+        // b has no profile columns, so only the employee and balance are written
+        assertNull(mongoTemplate.findOne(new Query(where("empMail").is("b@corp.com")), EmployeeData.class));
+        assertNotNull(mongoTemplate.findOne(new Query(where("employeeMail").is("b@corp.com")), LeaveBalance.class));
+    }
+}
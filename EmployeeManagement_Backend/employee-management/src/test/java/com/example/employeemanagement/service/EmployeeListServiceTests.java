@@ -0,0 +1,63 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.dto.EmployeeListItem;
+import com.example.employeemanagement.dto.EmployeeListPage;
+import com.example.employeemanagement.model.Employee;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset pages walk every employee exactly once in (sort field, _id) order, including the
+ * employees whose sort field is null or missing, which sort before everyone else.
+ */
+class EmployeeListServiceTests extends MongoIntegrationTestBase {
+
+    @Autowired
+    private EmployeeListService listService;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(Employee.class);
+        List<Document> rows = new ArrayList<>();
+        for (String name : new String[]{"Meera", null, "Asha", "Kiran", null, "Asha", "Dev"}) {
+            rows.add(new Document("mail", "user" + rows.size() + "@corp.com").append("name", name));
+        }
+        // one employee without the field at all
+        rows.add(new Document("mail", "user" + rows.size() + "@corp.com"));
+        mongoTemplate.getCollection("employees").insertMany(rows);
+    }
+
+    @Test
+    void pagesCrossTheNullGroupInBothDirections() {
+        List<String> ascending = walk(false);
+        assertEquals(List.of("-", "-", "-", "Asha", "Asha", "Dev", "Kiran", "Meera"), ascending);
+
+        List<String> descending = walk(true);
+        assertEquals(List.of("Meera", "Kiran", "Dev", "Asha", "Asha", "-", "-", "-"), descending);
+    }
+
+    // names page by page, two per page, "-" for a missing name; fails on a repeated employee
+    private List<String> walk(boolean descending) {
+        List<String> names = new ArrayList<>();
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            EmployeeListPage page = listService.list(cursor, 2, "name", descending);
+            for (EmployeeListItem item : page.getItems()) {
+                assertFalse(seen.contains(item.getId()), "employee returned twice: " + item.getMail());
+                seen.add(item.getId());
+                names.add(item.getName() != null ? item.getName() : "-");
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return names;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.repository.ProfileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Switching to embedded profiles before migrating: reads fall back to employee_data, the
+ * migration resumes from its checkpoint, never overwrites a profile written after the switch,
+ * and is a no-op when run again.
+ */
+@SpringBootTest(properties = "employee.profile.storage=embedded")
+class EmployeeProfileMigrationTests extends MongoIntegrationTestBase {
+
+    private static final int EMPLOYEES = 1_200;
+
+    @Autowired
+    private ProfileStore profileStore;
+
+    @Autowired
+    private EmployeeProfileMigrationService migrationService;
+
+    @BeforeEach
+    void seed() {
+        mongoTemplate.dropCollection("migrations");
+        resetCollections(Employee.class, EmployeeData.class);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setMail("emp" + i + "@corp.com");
+            mongoTemplate.insert(employee);
+
+            EmployeeData data = new EmployeeData();
+            data.setEmpMail(employee.getMail());
+            data.setEmpId("E" + i);
+            data.setGender("Female");
+            data.setDob(LocalDate.of(1990, 1, 1));
+            mongoTemplate.insert(data);
+        }
+        // a row whose employee is gone
+        EmployeeData orphan = new EmployeeData();
+        orphan.setEmpMail("gone@corp.com");
+        mongoTemplate.insert(orphan);
+    }
+
+    @Test
+    void migratesInResumableBatchesWithoutOverwritingNewerProfiles() {
+        assertEquals("E7", profileStore.findByMail("emp7@corp.com").getEmpId());
+
+        // written through the embedded store after the switch; must win over the old row
+        EmployeeData edited = profileStore.findByMail("emp1100@corp.com");
+        edited.setMobile("555-0100");
+        profileStore.save(edited);
+
+        EmployeeProfileMigrationService.MigrationResult first = migrationService.migrate(1);
+        assertFalse(first.isComplete());
+        assertEquals(500, first.getProfilesEmbedded());
+
+        EmployeeProfileMigrationService.MigrationResult rest = migrationService.migrateToEmbedded();
+        assertTrue(rest.isComplete());
+        assertEquals(EMPLOYEES - 500 + 1, rest.getRowsRead());
+        // the orphan and the already embedded profile
+        assertEquals(2, rest.getRowsSkipped());
+
+        assertEquals(EMPLOYEES, mongoTemplate.count(new Query(where("profile").exists(true)), Employee.class));
+        Employee employee = mongoTemplate.findOne(new Query(where("mail").is("emp7@corp.com")), Employee.class);
+        assertEquals("E7", employee.getProfile().getEmpId());
+        assertEquals("555-0100", profileStore.findByMail("emp1100@corp.com").getMobile());
+
+        EmployeeProfileMigrationService.MigrationResult again = migrationService.migrateToEmbedded();
+        assertTrue(again.isComplete());
+        assertEquals(0, again.getRowsRead());
+    }
+}
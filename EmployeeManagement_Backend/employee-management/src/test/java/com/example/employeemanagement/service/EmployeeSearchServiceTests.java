@@ -0,0 +1,103 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.dto.EmployeeListItem;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Type-ahead over 100k seeded employees: results and index use. Latency follows from the plan
+ * (a page of index keys, never the collection), so the plan is what is asserted.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeSearchServiceTests extends MongoIntegrationTestBase {
+
+    private static final int EMPLOYEES = 100_000;
+    private static final String[] FIRST = {"Asha", "Rishi", "Meera", "Kiran", "Dev", "Anil", "Priya", "Vikram"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Sales", "People"};
+
+    @Autowired
+    private EmployeeSearchService searchService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeAll
+    void seed() {
+        resetCollections(Employee.class);
+        // raw inserts bypass the listener, so the backfill has to fill the terms
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            batch.add(new Document("name", FIRST[i % FIRST.length] + " Surname" + i)
+                    .append("mail", "user" + i + "@corp.com")
+                    .append("department", DEPARTMENTS[i % DEPARTMENTS.length])
+                    .append("jobRole", "Analyst")
+                    .append("role", "EMPLOYEE"));
+            if (batch.size() == 5_000) {
+                mongoTemplate.getCollection("employees").insertMany(batch);
+                batch.clear();
+            }
+        }
+        assertEquals(EMPLOYEES, searchService.backfill());
+    }
+
+    @Test
+    void matchesEveryWordAsAPrefix() {
+        List<EmployeeListItem> items = searchService.search("rish surname42", 10);
+
+        assertFalse(items.isEmpty());
+        for (EmployeeListItem item : items) {
+            assertTrue(item.getName().startsWith("Rishi Surname42"), item.getName());
+        }
+    }
+
+    @Test
+    void savedEmployeesAreSearchableImmediately() {
+        Employee employee = new Employee();
+        employee.setName("Zubin Quartermaine");
+        employee.setMail("zubin.q@corp.com");
+        employee.setRole("EMPLOYEE");
+        employeeRepository.save(employee);
+
+        assertEquals("zubin.q@corp.com", searchService.search("quarter", 5).get(0).getMail());
+
+        employee.setName("Zubin Nair");
+        employeeRepository.save(employee);
+        assertTrue(searchService.search("quarter", 5).isEmpty());
+    }
+
+    @Test
+    void typeAheadReadsAPageFromTheSearchTermsIndex() {
+        String[] queries = {"a", "ri", "mee", "kiran s", "user12", "engineering dev", "surname9999"};
+        // the profiler records the query the service really sent, with its plan and counters
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+        try {
+            for (String q : queries) {
+                searchService.search(q, 10);
+                Document profiled = mongoTemplate.getCollection("system.profile")
+                        .find(new Document("ns", mongoTemplate.getDb().getName() + ".employees")
+                                .append("command.find", "employees"))
+                        .sort(new Document("ts", -1)).first();
+                assertNotNull(profiled, q);
+
+                String plan = profiled.getString("planSummary");
+                assertTrue(plan.startsWith("IXSCAN") && plan.contains("searchTerms"), "'" + q + "' ran " + plan);
+                assertTrue(profiled.getInteger("docsExamined") < 100,
+                        "'" + q + "' examined " + profiled.getInteger("docsExamined") + " documents");
+            }
+        } finally {
+            mongoTemplate.getDb().runCommand(new Document("profile", 0));
+            mongoTemplate.getCollection("system.profile").drop();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.repository.ProfileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * An edit of the employee's own fields, as the PUT endpoints send it, leaves the embedded
+ * profile alone and keeps the search terms and the caches in step.
+ */
+@SpringBootTest(properties = "employee.profile.storage=embedded")
+class EmployeeUpdateServiceTests extends MongoIntegrationTestBase {
+
+    @Autowired
+    private EmployeeUpdateService updateService;
+
+    @Autowired
+    private ProfileStore profileStore;
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    private String id;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(Employee.class, EmployeeData.class);
+        Employee employee = new Employee();
+        employee.setMail("a@corp.com");
+        employee.setName("Asha");
+        id = mongoTemplate.insert(employee).getId();
+
+        EmployeeData data = new EmployeeData();
+        data.setEmpMail("a@corp.com");
+        data.setEmpId("E1");
+        data.setMobile("555-0100");
+        profileStore.save(data);
+    }
+
+    @Test
+    void putKeepsTheEmbeddedProfile() {
+        assertEquals("Asha", profileCache.employee("a@corp.com").orElseThrow().getName());
+
+        Employee updated = updateService.update(new Query(where("_id").is(id)),
+                new Update().set("mail", "a@corp.com").set("name", "Meera").set("department", "Sales"));
+
+        assertEquals("Meera", updated.getName());
+        Employee stored = mongoTemplate.findById(id, Employee.class);
+        assertNotNull(stored.getProfile());
+        assertEquals("E1", stored.getProfile().getEmpId());
+        assertEquals("555-0100", profileStore.findByMail("a@corp.com").getMobile());
+        assertTrue(stored.getSearchTerms().contains("meera"), stored.getSearchTerms().toString());
+        assertEquals("Meera", profileCache.employee("a@corp.com").orElseThrow().getName());
+    }
+
+    @Test
+    void unknownEmployeeIsNotCreated() {
+        assertNull(updateService.update(new Query(where("_id").is("missing")), new Update().set("name", "X")));
+        assertEquals(1, mongoTemplate.count(new Query(), Employee.class));
+    }
+}
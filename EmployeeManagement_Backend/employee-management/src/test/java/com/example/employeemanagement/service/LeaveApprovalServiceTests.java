@@ -0,0 +1,58 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.LeaveRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Without a transaction manager (standalone mongod) the service undoes its own claim when the
+ * deduction does not go through, including when the deduction fails outright. A status other
+ * than Approved or Rejected never claims the request.
+ */
+class LeaveApprovalServiceTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final LeaveLedgerService leaveLedger = mock(LeaveLedgerService.class);
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<MongoTransactionManager> noTransactions = mock(ObjectProvider.class);
+    private final LeaveApprovalService service = new LeaveApprovalService(mongoTemplate,
+            mock(ProfileCache.class), leaveLedger, noTransactions);
+
+    @Test
+    void aFailedDeductionPutsTheRequestBackToPending() {
+        LeaveRequest claimed = new LeaveRequest();
+        claimed.setId("r1");
+        claimed.setEmployeeMail("a@corp.com");
+        claimed.setLeaveType("Annual");
+        claimed.setTotalDays(2);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(LeaveRequest.class)))
+                .thenReturn(claimed);
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("connection reset");
+        when(leaveLedger.deduct(anyString(), anyString(), anyInt(), anyString(), anyString())).thenThrow(failure);
+
+        assertSame(failure, assertThrows(DataAccessResourceFailureException.class,
+                () -> service.decide("r1", "approved", "hr@corp.com", null)));
+
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(LeaveRequest.class));
+    }
+
+    @Test
+    void anUnknownStatusLeavesTheRequestAlone() {
+        LeaveApprovalService.Decision decision = service.decide("r1", "banana", "hr@corp.com", null);
+
+        assertEquals(LeaveApprovalService.Outcome.INVALID_STATUS, decision.getOutcome());
+        verifyNoInteractions(mongoTemplate, leaveLedger);
+    }
+}
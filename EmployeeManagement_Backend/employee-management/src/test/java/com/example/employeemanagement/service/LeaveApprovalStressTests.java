@@ -0,0 +1,108 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.model.LeaveLedgerEvent;
+import com.example.employeemanagement.model.LeaveRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Many HR users approving the same requests at once: every request is decided once and every
+ * balance ends exactly at its starting value minus the approved days, never below zero.
+ */
+class LeaveApprovalStressTests extends MongoIntegrationTestBase {
+
+    private static final int EMPLOYEES = 5;
+    private static final int REQUESTS_PER_EMPLOYEE = 20;
+    private static final int STARTING_DAYS = 25;
+    private static final int DAYS_PER_REQUEST = 2;
+    private static final int APPROVERS_PER_REQUEST = 4;
+
+    @Autowired
+    private LeaveApprovalService approvalService;
+
+    @Autowired
+    private LeaveLedgerService leaveLedger;
+
+    private final List<String> requestIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        // the unique (employeeMail, seq) index is what serializes ledger appends
+        resetCollections(LeaveBalance.class, LeaveRequest.class, LeaveLedgerEvent.class);
+        for (int e = 0; e < EMPLOYEES; e++) {
+            String mail = "emp" + e + "@corp.com";
+            LeaveBalance balance = new LeaveBalance();
+            balance.setEmployeeMail(mail);
+            balance.setAnnualLeave(STARTING_DAYS);
+            mongoTemplate.insert(balance);
+
+            for (int r = 0; r < REQUESTS_PER_EMPLOYEE; r++) {
+                LeaveRequest request = new LeaveRequest();
+                request.setEmployeeMail(mail);
+                request.setLeaveType("Annual");
+                request.setStartDate(LocalDate.of(2025, 1, 1).plusDays(r * 3L));
+                request.setEndDate(LocalDate.of(2025, 1, 1).plusDays(r * 3L + DAYS_PER_REQUEST - 1));
+                request.setTotalDays(DAYS_PER_REQUEST);
+                request.setStatus(LeaveApprovalService.PENDING);
+                requestIds.add(mongoTemplate.insert(request).getId());
+            }
+        }
+    }
+
+    @Test
+    void concurrentApprovalsNeverDoubleDeduct() throws Exception {
+        List<String> attempts = new ArrayList<>();
+        for (String id : requestIds) {
+            for (int a = 0; a < APPROVERS_PER_REQUEST; a++) attempts.add(id);
+        }
+        Collections.shuffle(attempts);
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LeaveApprovalService.Decision>> results = new ArrayList<>();
+        for (int i = 0; i < attempts.size(); i++) {
+            String id = attempts.get(i);
+            String hr = "hr" + i + "@corp.com";
+            results.add(pool.submit(() -> {
+                start.await();
+                return approvalService.decide(id, "Approved", hr, null);
+            }));
+        }
+        start.countDown();
+
+        int applied = 0;
+        for (Future<LeaveApprovalService.Decision> result : results) {
+            if (result.get().getOutcome() == LeaveApprovalService.Outcome.APPLIED) applied++;
+        }
+        pool.shutdown();
+
+        int approvable = STARTING_DAYS / DAYS_PER_REQUEST;
+        assertEquals(EMPLOYEES * approvable, applied);
+        for (int e = 0; e < EMPLOYEES; e++) {
+            String mail = "emp" + e + "@corp.com";
+            LeaveBalance balance = leaveLedger.balance(mail);
+            long approved = mongoTemplate.count(new Query(where("employeeMail").is(mail)
+                    .and("status").is(LeaveApprovalService.APPROVED)), LeaveRequest.class);
+
+            assertEquals(approvable, approved, mail);
+            assertEquals(STARTING_DAYS - approved * DAYS_PER_REQUEST, balance.getAnnualLeave(), mail);
+            assertTrue(balance.getAnnualLeave() >= 0, mail);
+        }
+    }
+}
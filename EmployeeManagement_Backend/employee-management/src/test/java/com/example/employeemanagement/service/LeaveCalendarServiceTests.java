@@ -0,0 +1,82 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.dto.TeamAvailability;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.LeaveRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Interval answers from the week buckets must match a plain date comparison, including
+ * requests that share a week with the window without touching it.
+ */
+class LeaveCalendarServiceTests extends MongoIntegrationTestBase {
+
+    // a Monday, so the week buckets are easy to reason about
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Autowired
+    private LeaveCalendarService calendarService;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(LeaveRequest.class, Employee.class);
+
+        for (String mail : List.of("a@corp.com", "b@corp.com", "c@corp.com")) {
+            Employee employee = new Employee();
+            employee.setMail(mail);
+            employee.setDepartment("Engineering");
+            mongoTemplate.insert(employee);
+        }
+        save("a@corp.com", MONDAY, MONDAY.plusDays(1), LeaveApprovalService.APPROVED);
+        save("b@corp.com", MONDAY.plusDays(1), MONDAY.plusDays(8), LeaveApprovalService.APPROVED);
+        save("c@corp.com", MONDAY.plusDays(4), MONDAY.plusDays(4), LeaveApprovalService.PENDING);
+        save("c@corp.com", MONDAY.plusDays(2), MONDAY.plusDays(2), LeaveApprovalService.REJECTED);
+    }
+
+    @Test
+    void onLeaveMatchesOverlappingRequestsOnly() {
+        // Wednesday: a's leave ended on Tuesday in the same week bucket
+        List<LeaveRequest> out = calendarService.onLeave(MONDAY.plusDays(2), MONDAY.plusDays(2), false);
+        assertEquals(List.of("b@corp.com"), out.stream().map(LeaveRequest::getEmployeeMail).toList());
+
+        List<LeaveRequest> withPending = calendarService.onLeave(MONDAY.plusDays(4), MONDAY.plusDays(4), true);
+        assertEquals(2, withPending.size());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> calendarService.onLeave(MONDAY, MONDAY.plusWeeks(LeaveWeeks.MAX_QUERY_WEEKS), false));
+    }
+
+    @Test
+    void teamAvailabilityCountsPeoplePerDay() {
+        TeamAvailability week = calendarService.teamAvailability("Engineering", MONDAY, MONDAY.plusDays(4), true);
+
+        assertEquals(3, week.getHeadcount());
+        assertEquals(List.of(1, 2, 1, 1, 2), week.getDays().stream().map(TeamAvailability.Day::getOnLeave).toList());
+        assertEquals(1, week.getDays().get(1).getAvailable());
+    }
+
+    @Test
+    void overlapIgnoresRejectedAndAdjacentRequests() {
+        assertTrue(calendarService.findOverlap("c@corp.com", MONDAY.plusDays(2), MONDAY.plusDays(3), null).isEmpty());
+        assertTrue(calendarService.findOverlap("c@corp.com", MONDAY.plusDays(3), MONDAY.plusDays(5), null).isPresent());
+        assertTrue(calendarService.findOverlap("a@corp.com", MONDAY.minusDays(7), MONDAY.minusDays(1), null).isEmpty());
+    }
+
+    private void save(String mail, LocalDate start, LocalDate end, String status) {
+        LeaveRequest request = new LeaveRequest();
+        request.setEmployeeMail(mail);
+        request.setLeaveType("Annual");
+        request.setStartDate(start);
+        request.setEndDate(end);
+        request.setStatus(status);
+        mongoTemplate.save(request);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.model.LeaveLedgerEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Concurrent appends land as one gap-free sequence, the folded balance equals the opening
+ * balance plus every delta, and the snapshot trails the ledger by fewer than N events.
+ */
+@SpringBootTest(properties = "leave.ledger.snapshot-every=10")
+class LeaveLedgerServiceTests extends MongoIntegrationTestBase {
+
+    private static final String MAIL = "a@corp.com";
+
+    @Autowired
+    private LeaveLedgerService ledger;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(LeaveBalance.class, LeaveLedgerEvent.class);
+
+        // a balance written before the ledger existed: the opening snapshot
+        LeaveBalance opening = new LeaveBalance();
+        opening.setEmployeeMail(MAIL);
+        opening.setAnnualLeave(20);
+        opening.setSickLeave(10);
+        mongoTemplate.insert(opening);
+    }
+
+    @Test
+    void concurrentAppendsFoldToTheSameBalance() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LeaveLedgerService.Result>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            boolean deduction = i % 2 == 0;
+            results.add(pool.submit(() -> {
+                start.await();
+                return deduction
+                        ? ledger.deduct(MAIL, "Annual", 1, null, "hr@corp.com")
+                        : ledger.accrue(MAIL, "Sick", 1, "hr@corp.com", "monthly accrual");
+            }));
+        }
+        start.countDown();
+        for (Future<LeaveLedgerService.Result> result : results) {
+            assertEquals(LeaveLedgerService.Result.APPLIED, result.get());
+        }
+        pool.shutdown();
+
+        List<LeaveLedgerEvent> history = ledger.history(MAIL);
+        assertEquals(40, history.size());
+        for (int i = 0; i < history.size(); i++) assertEquals(i + 1, history.get(i).getSeq());
+
+        LeaveBalance balance = ledger.balance(MAIL);
+        assertEquals(0, balance.getAnnualLeave());
+        assertEquals(30, balance.getSickLeave());
+        assertEquals(LeaveLedgerService.Result.INSUFFICIENT_BALANCE, ledger.deduct(MAIL, "Annual", 1, null, "hr@corp.com"));
+
+        LeaveBalance snapshot = mongoTemplate.findOne(new Query(where("employeeMail").is(MAIL)), LeaveBalance.class);
+        assertEquals(40, snapshot.getLedgerSeq());
+        assertEquals(30, snapshot.getSickLeave());
+    }
+
+    @Test
+    void adjustmentRecordsOnlyTheDifference() {
+        LeaveBalance target = new LeaveBalance();
+        target.setAnnualLeave(25);
+        target.setSickLeave(10);
+        assertEquals(LeaveLedgerService.Result.APPLIED, ledger.adjustTo(MAIL, target, "hr@corp.com", "contract change"));
+        assertEquals(LeaveLedgerService.Result.APPLIED, ledger.adjustTo(MAIL, target, "hr@corp.com", "repeat"));
+
+        List<LeaveLedgerEvent> history = ledger.history(MAIL);
+        assertEquals(1, history.size());
+        assertEquals(5, history.get(0).getAnnualLeave());
+        assertEquals(0, history.get(0).getSickLeave());
+        assertEquals(25, ledger.balance(MAIL).getAnnualLeave());
+        assertEquals(LeaveLedgerService.Result.NOT_FOUND, ledger.adjustTo("nobody@corp.com", target, null, null));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.dto.LeaveQueuePage;
+import com.example.employeemanagement.model.LeaveRequest;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walking the queue page by page returns every matching request once, in (startDate, _id)
+ * order, and the status filter is answered from its compound index.
+ */
+class LeaveQueueServiceTests extends MongoIntegrationTestBase {
+
+    private static final int REQUESTS = 500;
+
+    @Autowired
+    private LeaveQueueService queueService;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(LeaveRequest.class);
+        List<LeaveRequest> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LeaveRequest request = new LeaveRequest();
+            request.setEmployeeMail("emp" + (i % 10) + "@corp.com");
+            request.setLeaveType(i % 2 == 0 ? "Annual" : "Sick");
+            // several requests share a start date, so the _id tiebreak matters
+            request.setStartDate(LocalDate.of(2025, 1, 1).plusDays(i / 5));
+            request.setEndDate(LocalDate.of(2025, 1, 1).plusDays(i / 5 + 1));
+            request.setTotalDays(2);
+            request.setStatus(i % 3 == 0 ? LeaveApprovalService.APPROVED : LeaveApprovalService.PENDING);
+            requests.add(request);
+        }
+        mongoTemplate.insertAll(requests);
+    }
+
+    @Test
+    void pagesCoverEveryPendingRequestOnceInOrder() {
+        Set<String> seen = new HashSet<>();
+        LocalDate previous = null;
+        String cursor = null;
+        do {
+            LeaveQueuePage page = queueService.queue(LeaveApprovalService.PENDING, null, null, null, null, cursor, 37);
+            for (LeaveRequest request : page.getItems()) {
+                assertEquals(LeaveApprovalService.PENDING, request.getStatus());
+                assertTrue(seen.add(request.getId()), "duplicate " + request.getId());
+                if (previous != null) assertFalse(request.getStartDate().isBefore(previous));
+                previous = request.getStartDate();
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(queueService.pendingCount(), seen.size());
+    }
+
+    @Test
+    void dateRangeKeepsOverlappingRequestsOnly() {
+        LocalDate from = LocalDate.of(2025, 2, 1);
+        LocalDate to = LocalDate.of(2025, 2, 3);
+        LeaveQueuePage page = queueService.queue(null, null, null, from, to, null, LeaveQueueService.MAX_LIMIT);
+
+        assertFalse(page.getItems().isEmpty());
+        for (LeaveRequest request : page.getItems()) {
+            assertFalse(request.getStartDate().isAfter(to));
+            assertFalse(request.getEndDate().isBefore(from));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> queueService.queue(null, null, null, to, from, null, 10));
+    }
+
+    @Test
+    void statusQueryUsesCompoundIndex() {
+        Document plan = mongoTemplate.getCollection("leave_requests")
+                .find(new Document("status", LeaveApprovalService.PENDING))
+                .sort(new Document("startDate", 1).append("_id", 1))
+                .explain();
+        assertTrue(plan.toJson().contains("status_startDate_id"), plan.toJson());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.AdminRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoginServiceTests {
+
+    private static final String SECRET = "QWZnc2Rmbmhqa2FzamRmbmphc2RmanM0NDMyNDMyNDMyNDMyNDMyNDMyNDMyNDMyNDMyNDMyNA==";
+
+    private final AdminRepository adminRepository = mock(AdminRepository.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blocking;
+
+    // plain-text "hashes" that can be made to hang, standing in for a slow BCrypt
+    private final PasswordEncoder encoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence raw) {
+            return "hash:" + raw;
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return encoded.equals(encode(raw));
+        }
+    };
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private LoginService service(long maxWaitMillis) {
+        PrincipalService principals = new PrincipalService(adminRepository, employeeRepository, 100, 300, 30);
+        return new LoginService(principals, encoder, new JwtUtil(SECRET, 10), registry, 1, 1, maxWaitMillis);
+    }
+
+    @Test
+    void looksTheUserUpOnceAndMintsTheTokenFromIt() {
+        Employee emp = new Employee();
+        emp.setMail("a@corp.com");
+        emp.setPass("hash:secret");
+        emp.setRole("HR");
+        when(employeeRepository.findByMail("a@corp.com")).thenReturn(Optional.of(emp));
+
+        LoginService.LoginResult result = service(2000).login(PrincipalService.Realm.APP, "a@corp.com", "secret").join();
+
+        assertEquals("HR", result.getRole());
+        assertNotNull(result.getToken());
+        verify(employeeRepository, times(1)).findByMail("a@corp.com");
+        verifyNoInteractions(adminRepository);
+        assertEquals(1, registry.get("login.latency").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void wrongPasswordAndUnknownUserFailAlike() {
+        when(employeeRepository.findByMail(anyString())).thenReturn(Optional.empty());
+        LoginService service = service(2000);
+
+        CompletionException unknown = assertThrows(CompletionException.class,
+                () -> service.login(PrincipalService.Realm.APP, "nobody@corp.com", "x").join());
+        assertInstanceOf(BadCredentialsException.class, unknown.getCause());
+    }
+
+    @Test
+    void fullQueueIsRejectedImmediately() {
+        when(employeeRepository.findByMail(anyString())).thenReturn(Optional.empty());
+        LoginService service = service(10_000);
+        blocking = true;
+
+        CompletableFuture<LoginService.LoginResult> running = service.login(PrincipalService.Realm.APP, "a", "x");
+        CompletableFuture<LoginService.LoginResult> queued = service.login(PrincipalService.Realm.APP, "b", "x");
+        CompletableFuture<LoginService.LoginResult> shed = service.login(PrincipalService.Realm.APP, "c", "x");
+
+        assertTrue(shed.isCompletedExceptionally());
+        CompletionException error = assertThrows(CompletionException.class, shed::join);
+        assertEquals(LoginService.LoginRejectedException.Reason.QUEUE_FULL,
+                ((LoginService.LoginRejectedException) error.getCause()).getReason());
+
+        release.countDown();
+        assertThrows(CompletionException.class, running::join);
+        assertThrows(CompletionException.class, queued::join);
+    }
+
+    @Test
+    void slowChecksTimeOut() {
+        when(employeeRepository.findByMail(anyString())).thenReturn(Optional.empty());
+        LoginService service = service(50);
+        blocking = true;
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> service.login(PrincipalService.Realm.APP, "a", "x").join());
+        assertEquals(LoginService.LoginRejectedException.Reason.TIMED_OUT,
+                ((LoginService.LoginRejectedException) error.getCause()).getReason());
+        release.countDown();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.Attendance;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Holiday;
+import com.example.employeemanagement.model.LeaveRequest;
+import com.example.employeemanagement.model.Payslip;
+import com.example.employeemanagement.model.PayrollRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Absences and unpaid leave dock pay on working days only, paid leave covers absences, and a
+ * run interrupted half-way resumes to the same payslips. June 2025 has 21 working days. A
+ * 50k-employee month must finish well under a minute.
+ */
+@SpringBootTest(properties = "payroll.threads=4")
+class PayrollServiceTests extends MongoIntegrationTestBase {
+
+    private static final YearMonth JUNE = YearMonth.of(2025, 6);
+    private static final int EMPLOYEES = 2_500;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(Employee.class, Attendance.class, LeaveRequest.class, Holiday.class,
+                Payslip.class, PayrollRun.class);
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setMail("emp" + i + "@corp.com");
+            // emp1 has no salary on file
+            if (i != 1) employee.setSalary(2200.0);
+            employees.add(employee);
+        }
+        mongoTemplate.insertAll(employees);
+
+        attendance("2025-06-02", "Absent");
+        attendance("2025-06-03", "Half Day");
+        attendance("2025-06-04", "Absent");   // covered by annual leave
+        attendance("2025-06-07", "Absent");   // a Saturday
+        leave("Annual", "2025-06-04", "2025-06-05");
+        leave(LeaveRequest.UNPAID, "2025-06-09", "2025-06-10");
+        leave(LeaveRequest.UNPAID, "2025-06-30", "2025-07-04");
+    }
+
+    private void attendance(String date, String status) {
+        Attendance row = new Attendance();
+        row.setEmployeeMail("emp0@corp.com");
+        row.setDate(LocalDate.parse(date));
+        row.setStatus(status);
+        mongoTemplate.insert(row);
+    }
+
+    private void leave(String type, String start, String end) {
+        LeaveRequest request = new LeaveRequest();
+        request.setEmployeeMail("emp0@corp.com");
+        request.setLeaveType(type);
+        request.setStartDate(LocalDate.parse(start));
+        request.setEndDate(LocalDate.parse(end));
+        request.setStatus(LeaveApprovalService.APPROVED);
+        mongoTemplate.insert(request);
+    }
+
+    private Payslip payslipOf(String mail) {
+        return mongoTemplate.findOne(new Query(where("runId").is(JUNE.toString()).and("employeeMail").is(mail)), Payslip.class);
+    }
+
+    @Test
+    void paysTheMonthAndResumesAfterACrash() throws Exception {
+        PayrollRun run = payrollService.run(JUNE);
+        assertEquals(PayrollRun.COMPLETED, run.getStatus());
+        assertEquals(21, run.getWorkingDays());
+        assertEquals(EMPLOYEES - 1, run.getProcessed());
+        assertEquals(1, run.getSkipped());
+
+        // 1 absence + 1 half day + 3 unpaid working days (Jun 9, 10, 30)
+        Payslip docked = payslipOf("emp0@corp.com");
+        assertEquals(1, docked.getAbsentDays());
+        assertEquals(1, docked.getHalfDays());
+        assertEquals(3, docked.getUnpaidLeaveDays());
+        assertEquals(4.5, docked.getUnpaidDays());
+        assertEquals(471.43, docked.getDeduction());
+        assertEquals(1728.57, docked.getNetPay());
+        assertEquals(2200.0, payslipOf("emp2@corp.com").getNetPay());
+        assertNull(payslipOf("emp1@corp.com"));
+
+        // a crash after some chunks: part of the payslips written, the run still Running
+        mongoTemplate.remove(new Query(where("employeeMail").regex("^emp1")), Payslip.class);
+        mongoTemplate.updateFirst(new Query(where("_id").is(JUNE.toString())),
+                new Update().set("status", PayrollRun.RUNNING), PayrollRun.class);
+
+        PayrollRun resumed = payrollService.run(JUNE);
+        assertEquals(PayrollRun.COMPLETED, resumed.getStatus());
+        assertEquals(EMPLOYEES - 1, resumed.getProcessed());
+        assertEquals(run.getNetTotal(), resumed.getNetTotal(), 0.001);
+        assertEquals(1728.57, payslipOf("emp0@corp.com").getNetPay());
+
+        StringWriter csv = new StringWriter();
+        payrollService.export(JUNE, "csv", csv);
+        String[] lines = csv.toString().split("\n");
+        assertEquals(EMPLOYEES, lines.length);
+        assertTrue(lines[1].startsWith("emp0@corp.com,"));
+    }
+
+    @Test
+    void aFiftyThousandEmployeeMonthRunsWellUnderAMinute() {
+        List<Employee> employees = new ArrayList<>();
+        List<Attendance> attendance = new ArrayList<>();
+        for (int i = EMPLOYEES; i < 50_000; i++) {
+            Employee employee = new Employee();
+            employee.setMail("emp" + i + "@corp.com");
+            employee.setSalary(3000.0);
+            employees.add(employee);
+            // a tenth of the staff with a few days on record
+            if (i % 10 == 0) {
+                for (int day = 2; day <= 6; day++) {
+                    Attendance row = new Attendance();
+                    row.setEmployeeMail(employee.getMail());
+                    row.setDate(JUNE.atDay(day));
+                    row.setStatus(day == 3 ? "Absent" : "Present");
+                    attendance.add(row);
+                }
+            }
+            if (employees.size() == 5_000) {
+                mongoTemplate.insertAll(employees);
+                employees.clear();
+            }
+        }
+        mongoTemplate.insertAll(employees);
+        mongoTemplate.insertAll(attendance);
+
+        PayrollRun run = assertTimeout(Duration.ofSeconds(30), () -> payrollService.run(JUNE));
+        assertEquals(PayrollRun.COMPLETED, run.getStatus());
+        assertEquals(50_000 - 1, run.getProcessed());
+        // one absence out of 21 working days
+        assertEquals(2857.14, payslipOf("emp2500@corp.com").getNetPay());
+    }
+
+    @Test
+    void leaveWithoutDatesIsIgnored() {
+        boolean[] working = new boolean[JUNE.lengthOfMonth()];
+        for (int i = 0; i < working.length; i++) working[i] = JUNE.atDay(i + 1).getDayOfWeek().getValue() <= 5;
+        Employee employee = new Employee();
+        employee.setMail("emp0@corp.com");
+        employee.setSalary(2100.0);
+        LeaveRequest undated = new LeaveRequest();
+        undated.setLeaveType(LeaveRequest.UNPAID);
+        undated.setStartDate(LocalDate.parse("2025-06-02"));
+
+        Payslip payslip = PayrollService.payslip(employee, new PayrollService.Month(JUNE, working),
+                List.of(), List.of(undated));
+
+        assertEquals(0, payslip.getUnpaidLeaveDays());
+        assertEquals(2100.0, payslip.getNetPay());
+    }
+}
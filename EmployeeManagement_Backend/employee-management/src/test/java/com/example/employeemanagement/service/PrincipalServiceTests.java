@@ -0,0 +1,78 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.AdminRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalServiceTests {
+
+    private final AdminRepository adminRepository = mock(AdminRepository.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final PrincipalService service = new PrincipalService(adminRepository, employeeRepository, 100, 300, 30);
+    private final PrincipalCacheInvalidator invalidator = new PrincipalCacheInvalidator(service);
+
+    private static Employee employee(String id, String mail, String name) {
+        Employee emp = new Employee();
+        emp.setId(id);
+        emp.setMail(mail);
+        emp.setName(name);
+        emp.setRole("EMPLOYEE");
+        return emp;
+    }
+
+    // the invalidator listens to every entity type, so its events are typed on Object
+    @SuppressWarnings("unchecked")
+    private static AfterDeleteEvent<Object> deleted(String id, Class<?> type, String collection) {
+        return new AfterDeleteEvent<>(new Document("_id", id), (Class<Object>) type, collection);
+    }
+
+    @Test
+    void repeatLookupsAreServedFromTheCache() {
+        when(employeeRepository.findByMail("a@corp.com")).thenReturn(Optional.of(employee("1", "a@corp.com", "Asha")));
+
+        assertEquals("Asha", service.resolve(PrincipalService.Realm.APP, "a@corp.com").orElseThrow().getName());
+        assertEquals("Asha", service.resolve(PrincipalService.Realm.APP, "a@corp.com").orElseThrow().getName());
+        verify(employeeRepository, times(1)).findByMail("a@corp.com");
+    }
+
+    @Test
+    void unknownIdentifiersAreCachedUntilTheUserIsCreated() {
+        when(employeeRepository.findByMail("new@corp.com")).thenReturn(Optional.empty());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(service.resolve(PrincipalService.Realm.APP, "new@corp.com").isEmpty());
+        }
+        verify(employeeRepository, times(1)).findByMail("new@corp.com");
+
+        Employee created = employee("2", "new@corp.com", "Dev");
+        when(employeeRepository.findByMail("new@corp.com")).thenReturn(Optional.of(created));
+        invalidator.onAfterSave(new AfterSaveEvent<>(created, new Document(), "employees"));
+
+        assertTrue(service.resolve(PrincipalService.Realm.APP, "new@corp.com").isPresent());
+    }
+
+    @Test
+    void savesAndDeletesEvictTheDocumentEvenUnderItsOldMail() {
+        when(employeeRepository.findByMail("old@corp.com")).thenReturn(Optional.of(employee("3", "old@corp.com", "Kiran")));
+        service.resolve(PrincipalService.Realm.APP, "old@corp.com");
+
+        // mail changed: the entry under the old mail must go too
+        invalidator.onAfterSave(new AfterSaveEvent<>(employee("3", "renamed@corp.com", "Kiran"), new Document(), "employees"));
+        when(employeeRepository.findByMail("old@corp.com")).thenReturn(Optional.empty());
+        assertTrue(service.resolve(PrincipalService.Realm.APP, "old@corp.com").isEmpty());
+
+        when(employeeRepository.findByMail("b@corp.com")).thenReturn(Optional.of(employee("4", "b@corp.com", "Meera")));
+        service.resolve(PrincipalService.Realm.APP, "b@corp.com");
+        invalidator.onAfterDelete(deleted("4", Employee.class, "employees"));
+        when(employeeRepository.findByMail("b@corp.com")).thenReturn(Optional.empty());
+        assertTrue(service.resolve(PrincipalService.Realm.APP, "b@corp.com").isEmpty());
+    }
+}
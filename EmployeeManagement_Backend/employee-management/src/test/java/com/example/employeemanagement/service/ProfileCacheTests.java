@@ -0,0 +1,90 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeData;
+import com.example.employeemanagement.model.LeaveBalance;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProfileStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProfileCacheTests {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final ProfileStore profileStore = mock(ProfileStore.class);
+    private final LeaveLedgerService leaveLedger = mock(LeaveLedgerService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProfileCache cache = new ProfileCache(employeeRepository, profileStore,
+            leaveLedger, registry, 100, 600);
+    private final ProfileCacheInvalidator invalidator = new ProfileCacheInvalidator(cache);
+
+    private static LeaveBalance balance(String id, int annual) {
+        LeaveBalance balance = new LeaveBalance();
+        balance.setId(id);
+        balance.setEmployeeMail("a@corp.com");
+        balance.setAnnualLeave(annual);
+        return balance;
+    }
+
+    // the invalidator listens to every entity type, so its events are typed on Object
+    @SuppressWarnings("unchecked")
+    private static AfterDeleteEvent<Object> deleted(String id, Class<?> type, String collection) {
+        return new AfterDeleteEvent<>(new Document("_id", id), (Class<Object>) type, collection);
+    }
+
+    @Test
+    void readsThroughOnceAndCountsHits() {
+        when(leaveLedger.balance("a@corp.com")).thenReturn(balance("b1", 15));
+
+        for (int i = 0; i < 3; i++) assertEquals(15, cache.leaveBalance("a@corp.com").getAnnualLeave());
+
+        verify(leaveLedger, times(1)).balance("a@corp.com");
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "profile.leaveBalance").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void savesAndDeletesInvalidate() {
+        when(leaveLedger.balance("a@corp.com")).thenReturn(balance("b1", 15));
+        cache.leaveBalance("a@corp.com");
+
+        when(leaveLedger.balance("a@corp.com")).thenReturn(balance("b1", 10));
+        invalidator.onAfterSave(new AfterSaveEvent<>(balance("b1", 10), new Document(), "leave_balances"));
+        assertEquals(10, cache.leaveBalance("a@corp.com").getAnnualLeave());
+
+        EmployeeData data = new EmployeeData();
+        data.setId("d1");
+        data.setEmpMail("a@corp.com");
+        when(profileStore.findByMail("a@corp.com")).thenReturn(data);
+        assertNotNull(cache.employeeData("a@corp.com"));
+
+        when(profileStore.findByMail("a@corp.com")).thenReturn(null);
+        invalidator.onAfterDelete(deleted("d1", EmployeeData.class, "employee_data"));
+        assertNull(cache.employeeData("a@corp.com"));
+    }
+
+    @Test
+    void aRenamedEmployeeLeavesNoEntryUnderTheOldMail() {
+        Employee before = new Employee();
+        before.setId("e1");
+        before.setMail("old@corp.com");
+        when(employeeRepository.findByMail("old@corp.com")).thenReturn(Optional.of(before));
+        assertTrue(cache.employee("old@corp.com").isPresent());
+
+        Employee after = new Employee();
+        after.setId("e1");
+        after.setMail("new@corp.com");
+        when(employeeRepository.findByMail("old@corp.com")).thenReturn(Optional.empty());
+        invalidator.onAfterSave(new AfterSaveEvent<>(after, new Document(), "employees"));
+
+        assertTrue(cache.employee("old@corp.com").isEmpty());
+    }
+}
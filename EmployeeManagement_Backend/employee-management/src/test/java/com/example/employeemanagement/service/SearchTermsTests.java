@@ -0,0 +1,33 @@
+package com.example.employeemanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTermsTests {
+
+    @Test
+    void everyWordContributesItsPrefixes() {
+        List<String> terms = SearchTerms.of("Rishi Kumar", "rishi.k@corp.com", "R&D", null);
+
+        assertTrue(terms.containsAll(List.of("r", "ri", "rishi", "k", "ku", "kumar", "corp", "co", "com", "d")));
+        assertFalse(terms.contains("ishi"));
+        assertEquals(terms.size(), terms.stream().distinct().count());
+    }
+
+    @Test
+    void prefixesStopAtTheMaximumLength() {
+        String longWord = "a".repeat(SearchTerms.MAX_PREFIX + 5);
+
+        assertEquals(SearchTerms.MAX_PREFIX, SearchTerms.of(longWord).size());
+        assertEquals(List.of("a".repeat(SearchTerms.MAX_PREFIX)), SearchTerms.query(longWord));
+    }
+
+    @Test
+    void queryIsSplitLikeTheStoredFields() {
+        assertEquals(List.of("rishi", "k"), SearchTerms.query("  Rishi.K rishi "));
+        assertTrue(SearchTerms.query(" - ").isEmpty());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.MongoIntegrationTestBase;
+import com.example.employeemanagement.model.Holiday;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prefix-sum counts must agree with walking the days one by one, across month and year
+ * boundaries and leap years, and must follow holiday edits.
+ */
+class WorkingDayCalendarTests extends MongoIntegrationTestBase {
+
+    private static final Set<LocalDate> HOLIDAYS = Set.of(
+            LocalDate.of(2024, 12, 25), LocalDate.of(2024, 12, 26), LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 5, 1), LocalDate.of(2026, 1, 1));
+
+    @Autowired
+    private WorkingDayCalendar calendar;
+
+    @BeforeEach
+    void seed() {
+        resetCollections(Holiday.class);
+        for (LocalDate date : HOLIDAYS) {
+            Holiday holiday = new Holiday();
+            holiday.setCalendar(calendar.getCalendar());
+            holiday.setDate(date);
+            holiday.setName("Holiday " + date);
+            mongoTemplate.save(holiday);
+        }
+        calendar.evictAll();
+    }
+
+    @Test
+    void rangeCountsMatchDayByDayWalk() {
+        Random random = new Random(42);
+        LocalDate base = LocalDate.of(2023, 11, 1);
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate start = base.plusDays(random.nextInt(900));
+            LocalDate end = start.plusDays(random.nextInt(400));
+            assertEquals(walk(start, end), calendar.businessDays(start, end), start + ".." + end);
+        }
+    }
+
+    @Test
+    void crossMonthLeaveSkipsWeekendsAndHolidays() {
+        // Fri 2024-12-20 .. Fri 2025-01-03: 11 weekdays, 3 of them holidays
+        assertEquals(8, calendar.businessDays(LocalDate.of(2024, 12, 20), LocalDate.of(2025, 1, 3)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 1, 1)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 1, 4)));
+        assertEquals(0, calendar.businessDays(LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 2)));
+    }
+
+    @Test
+    void holidayWritesRebuildTheTables() {
+        LocalDate friday = LocalDate.of(2025, 6, 6);
+        assertTrue(calendar.isWorkingDay(friday));
+
+        Holiday holiday = new Holiday();
+        holiday.setCalendar(calendar.getCalendar());
+        holiday.setDate(friday);
+        holiday.setName("Company day");
+        mongoTemplate.save(holiday);
+        assertFalse(calendar.isWorkingDay(friday));
+
+        mongoTemplate.remove(holiday);
+        assertTrue(calendar.isWorkingDay(friday));
+    }
+
+    private static int walk(LocalDate start, LocalDate end) {
+        int days = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY
+                    && !HOLIDAYS.contains(day)) days++;
+        }
+        return days;
+    }
+}